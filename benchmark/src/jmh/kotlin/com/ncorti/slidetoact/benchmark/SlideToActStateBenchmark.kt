@@ -0,0 +1,75 @@
+package com.ncorti.slidetoact.benchmark
+
+import com.ncorti.slidetoact.core.SlideToActState
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/**
+ * Measures the per-event cost of the slider gesture hot path.
+ *
+ * Every invocation consumes one event of a touch stream that drags the cursor from the start
+ * to the end of the track in [GESTURE_MILLIS], sampled at [touchRateHz]. Down and up events
+ * are part of the stream, so the result is the average cost of a single touch event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class SlideToActStateBenchmark {
+    companion object {
+        private const val AREA_WIDTH = 1080
+        private const val AREA_HEIGHT = 216
+        private const val GESTURE_MILLIS = 500
+    }
+
+    @Param("60", "120", "240")
+    @JvmField
+    var touchRateHz: Int = 0
+
+    private lateinit var state: SlideToActState
+    private lateinit var stream: FloatArray
+    private var index = 0
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        state = SlideToActState()
+        state.setSize(AREA_WIDTH, AREA_HEIGHT)
+        val samples = touchRateHz * GESTURE_MILLIS / 1000
+        val startX = AREA_HEIGHT / 2f
+        val distance = (AREA_WIDTH - AREA_HEIGHT).toFloat()
+        stream = FloatArray(samples) { startX + distance * (it + 1) / samples }
+        index = 0
+    }
+
+    @Benchmark
+    fun touchEvent(): Float {
+        if (index == 0) {
+            state.reset()
+            state.onTouchDown(AREA_HEIGHT / 2f, AREA_HEIGHT / 2f)
+        }
+        state.onTouchMove(stream[index])
+        index++
+        if (index == stream.size) {
+            index = 0
+            state.onTouchUp()
+        }
+        return state.position
+    }
+
+    @Benchmark
+    fun fullGesture(): SlideToActState.Release {
+        state.reset()
+        state.onTouchDown(AREA_HEIGHT / 2f, AREA_HEIGHT / 2f)
+        for (x in stream) {
+            state.onTouchMove(x)
+        }
+        return state.onTouchUp()
+    }
+}
@@ -2,5 +2,8 @@ plugins {
     id("com.android.application") version "8.12.0" apply false
     id("com.android.library") version "8.12.0" apply false
     id("org.jlleitschuh.gradle.ktlint") version "12.3.0" apply false
+    id("me.champeau.jmh") version "0.7.3" apply false
     kotlin("android") version "2.2.0" apply false
+    kotlin("jvm") version "2.2.0" apply false
+    kotlin("plugin.compose") version "2.2.0" apply false
 }
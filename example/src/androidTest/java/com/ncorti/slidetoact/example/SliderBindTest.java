@@ -0,0 +1,97 @@
+package com.ncorti.slidetoact.example;
+
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Color;
+import android.os.Parcelable;
+import android.util.SparseArray;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.rule.ActivityTestRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.ncorti.slidetoact.SlideToActView;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class SliderBindTest {
+
+    @Rule
+    public final ActivityTestRule<SampleActivity> mActivityRule =
+            new ActivityTestRule<SampleActivity>(SampleActivity.class) {
+                @Override
+                protected Intent getActivityIntent() {
+                    Context targetContext = InstrumentationRegistry.getInstrumentation()
+                            .getTargetContext();
+                    Intent result = new Intent(targetContext, SampleActivity.class);
+                    result.putExtra(SampleActivity.EXTRA_PRESSED_BUTTON, R.id.button_area_margin);
+                    return result;
+                }
+            };
+
+    private SlideToActView getSlider() {
+        return mActivityRule.getActivity().findViewById(R.id.slide_1);
+    }
+
+    @Test
+    public void testSlideToActView_bindCompleted_isCompleted() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                SlideToActView slider = getSlider();
+                slider.bind(new SlideToActView.BindState("Bound", Color.RED, Color.WHITE, true));
+
+                SlideToActView.BindState snapshot = slider.snapshot();
+                assertTrue(slider.isCompleted());
+                assertTrue(snapshot.isCompleted());
+                assertEquals("Bound", snapshot.getText().toString());
+                assertEquals(Color.RED, snapshot.getOuterColor());
+            }
+        });
+    }
+
+    @Test
+    public void testSlideToActView_rebindPosition_isRestored() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                SlideToActView slider = getSlider();
+                slider.bind(new SlideToActView.BindState("Bound", Color.RED, Color.WHITE, true));
+                slider.bind(new SlideToActView.BindState(
+                        "Rebound", Color.BLUE, Color.WHITE, false, true, 0.5f));
+
+                SlideToActView.BindState snapshot = slider.snapshot();
+                assertFalse(slider.isCompleted());
+                assertTrue(slider.isLocked());
+                assertEquals(0.5f, snapshot.getPositionPerc(), 0.01f);
+            }
+        });
+    }
+
+    @Test
+    public void testSlideToActView_savedState_isRestored() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                SlideToActView slider = getSlider();
+                slider.setCompleted(true, false);
+                slider.setLocked(true);
+                SparseArray<Parcelable> container = new SparseArray<>();
+                slider.saveHierarchyState(container);
+
+                slider.setCompleted(false, false);
+                slider.setLocked(false);
+                slider.restoreHierarchyState(container);
+
+                assertTrue(slider.isCompleted());
+                assertTrue(slider.isLocked());
+            }
+        });
+    }
+}
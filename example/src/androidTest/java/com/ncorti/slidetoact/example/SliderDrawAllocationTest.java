@@ -0,0 +1,101 @@
+package com.ncorti.slidetoact.example;
+
+import static junit.framework.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Build;
+import android.os.Debug;
+import android.view.View;
+import android.view.WindowManager;
+import android.widget.LinearLayout;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.rule.ActivityTestRule;
+
+import com.ncorti.slidetoact.SlideToActView;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class SliderDrawAllocationTest {
+
+    private static final int FRAMES = 10000;
+
+    /**
+     * ART counts the allocated bytes for the whole process, a thread-local buffer at a time.
+     * Objects take at least 8 bytes, so with a budget of 8 bytes per frame a single allocation
+     * per frame fills a few buffers and is caught, while the buffer taken by the other threads
+     * or by the counter itself fits in the budget.
+     */
+    private static final long BYTES_BUDGET = 8L * FRAMES;
+
+    @Rule
+    public final ActivityTestRule<SampleActivity> mActivityRule =
+            new ActivityTestRule<SampleActivity>(SampleActivity.class) {
+                @Override
+                protected Intent getActivityIntent() {
+                    Context targetContext = InstrumentationRegistry.getInstrumentation()
+                            .getTargetContext();
+                    Intent result = new Intent(targetContext, SampleActivity.class);
+                    // The text size sample contains text appearances with AllCaps and custom fonts.
+                    result.putExtra(SampleActivity.EXTRA_PRESSED_BUTTON, R.id.button_text_size);
+                    return result;
+                }
+            };
+
+    @Before
+    public void setUp() {
+        // Force wake up of device for Circle CI test execution.
+        final SampleActivity activity = mActivityRule.getActivity();
+        Runnable wakeUpDevice = new Runnable() {
+            public void run() {
+                activity.getWindow().addFlags(WindowManager.LayoutParams.FLAG_TURN_SCREEN_ON |
+                        WindowManager.LayoutParams.FLAG_SHOW_WHEN_LOCKED |
+                        WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
+            }
+        };
+        activity.runOnUiThread(wakeUpDevice);
+    }
+
+    @Test
+    public void testDrawFrame_allocatesNothing() {
+        // The thread allocation counters are a no-op on ART, its runtime stats are used instead.
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.M);
+        final long[] allocatedBytes = {-1};
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                final LinearLayout container = mActivityRule.getActivity().findViewById(R.id.slide_container);
+                final SlideToActView slider = (SlideToActView) container.getChildAt(container.getChildCount() - 1);
+                final Bitmap bitmap = Bitmap.createBitmap(
+                        slider.getWidth(), slider.getHeight(), Bitmap.Config.ARGB_8888);
+                final Canvas canvas = new Canvas(bitmap);
+
+                // Warm-up frame, so lazily initialized objects are not counted.
+                slider.draw(canvas);
+
+                final long start = bytesAllocated();
+                for (int i = 0; i < FRAMES; i++) {
+                    slider.draw(canvas);
+                }
+                allocatedBytes[0] = bytesAllocated() - start;
+                bitmap.recycle();
+            }
+        });
+        assertTrue("Drawing " + FRAMES + " frames allocated " + allocatedBytes[0] + " bytes",
+                allocatedBytes[0] >= 0 && allocatedBytes[0] < BYTES_BUDGET);
+    }
+
+    /** Bytes allocated by the process since it started */
+    private static long bytesAllocated() {
+        return Long.parseLong(Debug.getRuntimeStat("art.gc.bytes-allocated"));
+    }
+}
@@ -15,4 +15,8 @@ dependencyResolutionManagement {
 
 
 include("slidetoact")
+include(":slidetoact-core")
+include(":slidetoact-compose")
+include(":slidetoact-testing")
 include(":example")
+include(":benchmark")
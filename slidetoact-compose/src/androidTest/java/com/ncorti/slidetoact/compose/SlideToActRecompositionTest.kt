@@ -0,0 +1,79 @@
+package com.ncorti.slidetoact.compose
+
+import androidx.compose.runtime.CompositionLocalProvider
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.platform.testTag
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.compose.ui.test.onNodeWithTag
+import androidx.compose.ui.test.performTouchInput
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class SlideToActRecompositionTest {
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    private lateinit var state: SlideToActComposeState
+
+    /** Number of compositions of the slider */
+    private var compositionCount = 0
+    private val countComposition: () -> Unit = { compositionCount++ }
+
+    private fun setContent() {
+        composeRule.setContent {
+            CompositionLocalProvider(LocalSlideToActCompositionObserver provides countComposition) {
+                state = rememberSlideToActState()
+                SlideToAct(
+                    text = "Slide to act",
+                    onSlideComplete = {},
+                    modifier = Modifier.testTag(TAG),
+                    state = state,
+                )
+            }
+        }
+        composeRule.waitForIdle()
+    }
+
+    @Test
+    fun dragDoesNotRecompose() {
+        setContent()
+        val compositions = compositionCount
+
+        composeRule.onNodeWithTag(TAG).performTouchInput {
+            down(Offset(height / 2f, centerY))
+            for (i in 1..20) {
+                moveBy(Offset(width / 40f, 0f))
+            }
+        }
+        composeRule.waitForIdle()
+
+        assertTrue(state.position > 0f)
+        assertEquals(compositions, compositionCount)
+    }
+
+    @Test
+    fun snapBackDoesNotRecompose() {
+        setContent()
+        val compositions = compositionCount
+
+        composeRule.onNodeWithTag(TAG).performTouchInput {
+            down(Offset(height / 2f, centerY))
+            moveBy(Offset(width / 4f, 0f))
+            up()
+        }
+        composeRule.waitForIdle()
+
+        assertEquals(0f, state.position)
+        assertEquals(compositions, compositionCount)
+    }
+
+    private companion object {
+        const val TAG = "slider"
+    }
+}
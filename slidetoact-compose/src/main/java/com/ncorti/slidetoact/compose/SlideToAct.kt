@@ -0,0 +1,301 @@
+package com.ncorti.slidetoact.compose
+
+import androidx.compose.foundation.gestures.awaitEachGesture
+import androidx.compose.foundation.gestures.awaitFirstDown
+import androidx.compose.foundation.gestures.awaitHorizontalDragOrCancellation
+import androidx.compose.foundation.layout.Spacer
+import androidx.compose.foundation.layout.fillMaxWidth
+import androidx.compose.foundation.layout.height
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.SideEffect
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberCoroutineScope
+import androidx.compose.runtime.rememberUpdatedState
+import androidx.compose.runtime.staticCompositionLocalOf
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.draw.drawBehind
+import androidx.compose.ui.geometry.CornerRadius
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.geometry.Size
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.graphics.ColorFilter
+import androidx.compose.ui.graphics.Path
+import androidx.compose.ui.graphics.PathMeasure
+import androidx.compose.ui.graphics.drawscope.Stroke
+import androidx.compose.ui.graphics.drawscope.rotate
+import androidx.compose.ui.graphics.drawscope.scale
+import androidx.compose.ui.graphics.drawscope.translate
+import androidx.compose.ui.graphics.vector.ImageVector
+import androidx.compose.ui.graphics.vector.VectorPath
+import androidx.compose.ui.graphics.vector.toPath
+import androidx.compose.ui.input.pointer.pointerInput
+import androidx.compose.ui.input.pointer.util.VelocityTracker
+import androidx.compose.ui.layout.onSizeChanged
+import androidx.compose.ui.platform.LocalDensity
+import androidx.compose.ui.res.painterResource
+import androidx.compose.ui.res.stringResource
+import androidx.compose.ui.res.vectorResource
+import androidx.compose.ui.semantics.onClick
+import androidx.compose.ui.semantics.semantics
+import androidx.compose.ui.semantics.stateDescription
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.drawText
+import androidx.compose.ui.text.rememberTextMeasurer
+import androidx.compose.ui.unit.Dp
+import androidx.compose.ui.unit.Velocity
+import androidx.compose.ui.unit.dp
+import androidx.compose.ui.unit.sp
+import com.ncorti.slidetoact.R
+import com.ncorti.slidetoact.core.SlideToActState
+import kotlinx.coroutines.launch
+
+/** Same default colors of the SlideToActView, when no theme is available */
+private val DefaultOuterColor = Color(0xFFFF4081)
+private val DefaultInnerColor = Color.White
+
+/**
+ * Called on every composition of [SlideToAct]. Only tests provide it, to verify that a drag
+ * or an animation never recomposes the slider.
+ */
+internal val LocalSlideToActCompositionObserver = staticCompositionLocalOf<(() -> Unit)?> { null }
+
+/**
+ * A Slide to Act composable, the Compose counterpart of the SlideToActView.
+ *
+ * It shares the gesture logic and the animations of the view. While the user drags the cursor,
+ * or an animation is running, only the draw phase is invalidated: the slider is never
+ * recomposed nor measured again.
+ *
+ * @param text The text shown in the outer area
+ * @param onSlideComplete Called when the user completes the slide
+ * @param modifier The modifier applied to the slider
+ * @param state The state of the slider, use it to reset or complete the slider
+ * @param outerColor Color of the outer area and of the arrow
+ * @param innerColor Color of the cursor and of the tick
+ * @param iconColor Color of the arrow, defaults to [outerColor]
+ * @param textStyle Style of the text, the color defaults to [innerColor]
+ * @param sliderHeight Height of the slider
+ * @param areaMargin Margin between the outer area and the cursor
+ * @param iconMargin Margin between the cursor and the arrow
+ * @param borderRadius Corner radius of the outer area, null for a fully rounded slider
+ * @param locked True to lock the slider, the cursor will always snap back
+ * @param reversed True to slide from the end to the start
+ * @param animateCompletion False to skip the collapse animation on complete
+ * @param animationDuration Duration (in milliseconds) of each phase of the animations
+ * @param flingVelocityThreshold Min velocity (in dp per second) of a fling towards the end that
+ * completes the slider, 0 disables it
+ * @param onSlideFailed Called when the user fails to slide: with true if the user pressed outside
+ * the cursor, with false if the cursor was released at the start position
+ */
+@Composable
+fun SlideToAct(
+    text: String,
+    onSlideComplete: () -> Unit,
+    modifier: Modifier = Modifier,
+    state: SlideToActComposeState = rememberSlideToActState(),
+    outerColor: Color = DefaultOuterColor,
+    innerColor: Color = DefaultInnerColor,
+    iconColor: Color = outerColor,
+    textStyle: TextStyle = TextStyle(fontSize = 16.sp),
+    sliderHeight: Dp = 72.dp,
+    areaMargin: Dp = 8.dp,
+    iconMargin: Dp = 16.dp,
+    borderRadius: Dp? = null,
+    locked: Boolean = false,
+    reversed: Boolean = false,
+    animateCompletion: Boolean = true,
+    animationDuration: Int = SlideToActComposeState.DEFAULT_ANIMATION_DURATION,
+    flingVelocityThreshold: Float = 0f,
+    onSlideFailed: (isOutside: Boolean) -> Unit = {},
+) {
+    val compositionObserver = LocalSlideToActCompositionObserver.current
+    val density = LocalDensity.current.density
+    SideEffect {
+        compositionObserver?.invoke()
+        state.core.isLocked = locked
+        state.core.flingVelocityThreshold = flingVelocityThreshold * density
+        if (state.core.isReversed != reversed) {
+            state.core.isReversed = reversed
+        }
+    }
+
+    val scope = rememberCoroutineScope()
+    val currentOnSlideComplete = rememberUpdatedState(onSlideComplete)
+    val currentOnSlideFailed = rememberUpdatedState(onSlideFailed)
+    val currentAnimateCompletion = rememberUpdatedState(animateCompletion)
+    val currentAnimationDuration = rememberUpdatedState(animationDuration)
+
+    // The text is measured only when it changes, the draw phase just fades it.
+    val textMeasurer = rememberTextMeasurer()
+    val resolvedTextStyle =
+        if (textStyle.color == Color.Unspecified) textStyle.copy(color = innerColor) else textStyle
+    val textLayout =
+        remember(text, resolvedTextStyle) { textMeasurer.measure(text, resolvedTextStyle) }
+    val arrowPainter = painterResource(R.drawable.slidetoact_ic_arrow)
+    val arrowColorFilter = remember(iconColor) { ColorFilter.tint(iconColor) }
+    // The tick is drawn from the same vector of the view, so the two can't drift apart.
+    val tickVector = ImageVector.vectorResource(R.drawable.slidetoact_ic_check)
+    val tickPath = remember(tickVector) { tickVector.root.filterIsInstance<VectorPath>().first() }
+    val tickStroke = remember(tickPath) { Stroke(tickPath.strokeLineWidth) }
+    val tickSegment = remember { Path() }
+    val tickMeasure =
+        remember(tickPath) { PathMeasure().apply { setPath(tickPath.pathData.toPath(), false) } }
+    val completeLabel = stringResource(R.string.slidetoact_accessibility_action_description)
+
+    fun complete() {
+        scope.launch {
+            state.complete(currentAnimateCompletion.value, currentAnimationDuration.value)
+            currentOnSlideComplete.value()
+        }
+    }
+
+    Spacer(
+        modifier
+            .fillMaxWidth()
+            .height(sliderHeight)
+            .onSizeChanged { state.setSize(it.width, it.height) }
+            .semantics {
+                stateDescription = if (state.isCompleted) completeLabel else text
+                if (!state.isCompleted && !locked) {
+                    onClick(label = completeLabel) {
+                        complete()
+                        true
+                    }
+                }
+            }.pointerInput(state) {
+                val velocityTracker = VelocityTracker()
+                val maxFlingVelocity = viewConfiguration.maximumFlingVelocity
+                awaitEachGesture {
+                    val down = awaitFirstDown()
+                    if (state.isCompleted || state.isAnimating) {
+                        return@awaitEachGesture
+                    }
+                    if (!state.core.onTouchDown(down.position.x, down.position.y)) {
+                        currentOnSlideFailed.value(true)
+                        return@awaitEachGesture
+                    }
+                    var pointerId = down.id
+                    var release = SlideToActState.Release.NONE
+                    velocityTracker.resetTracking()
+                    velocityTracker.addPosition(down.uptimeMillis, down.position)
+                    while (true) {
+                        val change = awaitHorizontalDragOrCancellation(pointerId)
+                        if (change == null) {
+                            // A parent consumed the drag, e.g. a scrolling container.
+                            release = state.core.onTouchCancel()
+                            break
+                        }
+                        if (!change.pressed) {
+                            velocityTracker.addPosition(change.uptimeMillis, change.position)
+                            val maxVelocity = Velocity(maxFlingVelocity, maxFlingVelocity)
+                            val velocity = velocityTracker.calculateVelocity(maxVelocity)
+                            release = state.core.onTouchUp(velocity.x)
+                            break
+                        }
+                        if (change.id != pointerId) {
+                            // The driving pointer was lifted and another one took over.
+                            pointerId = change.id
+                            state.core.onPointerChanged(change.previousPosition.x)
+                            velocityTracker.resetTracking()
+                        }
+                        // Batched samples (e.g. 120/240 Hz digitizers) are consumed too.
+                        val historical = change.historical
+                        for (i in 0 until historical.size) {
+                            val sample = historical[i]
+                            velocityTracker.addPosition(sample.uptimeMillis, sample.position)
+                            state.core.onTouchMove(sample.position.x)
+                        }
+                        velocityTracker.addPosition(change.uptimeMillis, change.position)
+                        state.core.onTouchMove(change.position.x)
+                        state.syncPosition()
+                        change.consume()
+                    }
+                    when (release) {
+                        SlideToActState.Release.COMPLETE -> complete()
+                        SlideToActState.Release.SNAP_BACK ->
+                            scope.launch { state.snapBack(currentAnimationDuration.value) }
+                        SlideToActState.Release.FAILED -> currentOnSlideFailed.value(false)
+                        SlideToActState.Release.NONE -> {
+                            // Nothing to do
+                        }
+                    }
+                }
+            }.drawBehind {
+                // Every state read below happens in the draw phase only.
+                val areaWidth = size.width
+                val areaHeight = size.height
+                val maxPosition = areaWidth - areaHeight
+                val positionPerc = if (maxPosition > 0f) state.position / maxPosition else 0f
+                val effectivePosition =
+                    if (reversed) maxPosition - state.position else state.position
+                val actualAreaWidth = state.areaFraction * maxPosition / 2
+                val radius = borderRadius?.toPx() ?: (areaHeight / 2)
+                val cursorSize = areaHeight - 2 * areaMargin.toPx()
+                val actualAreaMargin = areaMargin.toPx() + state.marginFraction * cursorSize / 2
+
+                // Outer area
+                drawRoundRect(
+                    color = outerColor,
+                    topLeft = Offset(actualAreaWidth, 0f),
+                    size = Size(areaWidth - 2 * actualAreaWidth, areaHeight),
+                    cornerRadius = CornerRadius(radius),
+                )
+
+                // Text, it fades out while the cursor moves to the end
+                drawText(
+                    textLayout,
+                    topLeft =
+                        Offset(
+                            (areaWidth - textLayout.size.width) / 2,
+                            (areaHeight - textLayout.size.height) / 2,
+                        ),
+                    alpha = 1f - positionPerc,
+                )
+
+                // Inner cursor
+                val innerSize = areaHeight - 2 * actualAreaMargin
+                if (innerSize > 0f) {
+                    val ratio = innerSize / areaHeight
+                    val cursorLeft = actualAreaMargin + effectivePosition
+                    drawRoundRect(
+                        color = innerColor,
+                        topLeft = Offset(cursorLeft, actualAreaMargin),
+                        size = Size(innerSize, innerSize),
+                        cornerRadius = CornerRadius(radius * ratio),
+                    )
+
+                    // Arrow, rotated while the cursor moves
+                    val arrowSize = innerSize - 2 * iconMargin.toPx()
+                    if (arrowSize > 0f) {
+                        val center = Offset(cursorLeft + innerSize / 2, areaHeight / 2)
+                        scale(if (reversed) -1f else 1f, 1f, center) {
+                            rotate(-180 * positionPerc, center) {
+                                translate(center.x - arrowSize / 2, center.y - arrowSize / 2) {
+                                    with(arrowPainter) {
+                                        draw(
+                                            Size(arrowSize, arrowSize),
+                                            colorFilter = arrowColorFilter,
+                                        )
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+
+                // Tick, drawn progressively as the AnimatedVectorDrawable of the view
+                if (state.tickFraction > 0f) {
+                    val tickSize = areaHeight - 2 * iconMargin.toPx()
+                    tickSegment.reset()
+                    val tickLength = tickMeasure.length * state.tickFraction
+                    tickMeasure.getSegment(0f, tickLength, tickSegment, true)
+                    val tickScale = tickSize / tickVector.viewportWidth
+                    translate((areaWidth - tickSize) / 2, iconMargin.toPx()) {
+                        scale(tickScale, tickScale, Offset.Zero) {
+                            drawPath(tickSegment, innerColor, style = tickStroke)
+                        }
+                    }
+                }
+            },
+    )
+}
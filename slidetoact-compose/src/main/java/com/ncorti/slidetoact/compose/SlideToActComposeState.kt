@@ -0,0 +1,215 @@
+package com.ncorti.slidetoact.compose
+
+import android.animation.TimeInterpolator
+import android.view.animation.AccelerateDecelerateInterpolator
+import android.view.animation.AnticipateOvershootInterpolator
+import android.view.animation.OvershootInterpolator
+import androidx.compose.animation.core.Easing
+import androidx.compose.animation.core.animate
+import androidx.compose.animation.core.tween
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.mutableFloatStateOf
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.saveable.Saver
+import androidx.compose.runtime.saveable.rememberSaveable
+import androidx.compose.runtime.setValue
+import com.ncorti.slidetoact.core.SlideToActState
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+
+/**
+ * Creates and remembers a [SlideToActComposeState].
+ * @param initiallyCompleted True if the slider starts in the complete state
+ */
+@Composable
+fun rememberSlideToActState(initiallyCompleted: Boolean = false): SlideToActComposeState =
+    rememberSaveable(saver = SlideToActComposeState.Saver) {
+        SlideToActComposeState(initiallyCompleted)
+    }
+
+/**
+ * State of a [SlideToAct] composable.
+ *
+ * The gesture logic is the [SlideToActState] shared with the SlideToActView. Every value that
+ * changes during a drag or an animation is a snapshot state read only in the draw phase,
+ * so moving the cursor never recomposes nor relayouts the slider.
+ */
+@Stable
+class SlideToActComposeState internal constructor(initiallyCompleted: Boolean) {
+    companion object {
+        /** Default duration of each phase of the complete and reset animations */
+        const val DEFAULT_ANIMATION_DURATION = 300
+
+        /** Same interpolators of the SlideToActView animations */
+        private val DEFAULT_EASING = AccelerateDecelerateInterpolator().toEasing()
+        private val COMPLETE_MARGIN_EASING = AnticipateOvershootInterpolator(2f).toEasing()
+        private val RESET_MARGIN_EASING = OvershootInterpolator(2f).toEasing()
+
+        private fun TimeInterpolator.toEasing() = Easing { getInterpolation(it) }
+
+        /** Saves only the completed flag, as the SlideToActView does */
+        val Saver: Saver<SlideToActComposeState, Boolean> =
+            Saver(
+                save = { it.isCompleted },
+                restore = { SlideToActComposeState(it) },
+            )
+    }
+
+    internal val core = SlideToActState()
+
+    private val mutex = Mutex()
+
+    /** Cursor position (in pixels), mirror of [SlideToActState.position] */
+    internal var position by mutableFloatStateOf(0f)
+        private set
+
+    /** Progress of the cursor collapse, 0f when the cursor is fully visible */
+    internal var marginFraction by mutableFloatStateOf(if (initiallyCompleted) 1f else 0f)
+        private set
+
+    /** Progress of the outer area collapse, 0f when the area is fully visible */
+    internal var areaFraction by mutableFloatStateOf(if (initiallyCompleted) 1f else 0f)
+        private set
+
+    /** Progress of the tick icon, 0f when the tick is hidden */
+    internal var tickFraction by mutableFloatStateOf(if (initiallyCompleted) 1f else 0f)
+        private set
+
+    /** True if the slider is in the complete state */
+    var isCompleted by mutableStateOf(initiallyCompleted)
+        private set
+
+    /** True while an animation is running, the cursor can't be grabbed meanwhile */
+    var isAnimating by mutableStateOf(false)
+        private set
+
+    init {
+        if (initiallyCompleted) {
+            core.setCompleted()
+        }
+    }
+
+    internal fun setSize(
+        width: Int,
+        height: Int,
+    ) {
+        core.setSize(width, height)
+        if (isCompleted) {
+            core.setCompleted()
+        }
+        position = core.position
+    }
+
+    /** Mirrors the core position after a touch event */
+    internal fun syncPosition() {
+        position = core.position
+    }
+
+    private fun setPosition(value: Float) {
+        core.position = value
+        position = core.position
+    }
+
+    /**
+     * Animates the slider to the complete state, as if the user completed the slide.
+     * @param animateCompletion False to only move the cursor to the end, without collapsing it
+     * @param durationMillis Duration of each phase of the animation
+     */
+    suspend fun complete(
+        animateCompletion: Boolean = true,
+        durationMillis: Int = DEFAULT_ANIMATION_DURATION,
+    ) = mutex.withLock {
+        if (isCompleted) {
+            return@withLock
+        }
+        isAnimating = true
+        try {
+            // The cursor is moved only if it's not already at the end
+            val maxPosition = core.maxPosition.toFloat()
+            if (position < maxPosition) {
+                animateValue(position, maxPosition, durationMillis, DEFAULT_EASING) {
+                    setPosition(it)
+                }
+            }
+            if (animateCompletion) {
+                animateValue(0f, 1f, durationMillis, COMPLETE_MARGIN_EASING) {
+                    marginFraction = it
+                }
+                animateValue(0f, 1f, durationMillis, DEFAULT_EASING) {
+                    areaFraction = it
+                }
+                animateValue(0f, 1f, durationMillis, DEFAULT_EASING) {
+                    tickFraction = it
+                }
+            }
+            core.setCompleted()
+            isCompleted = true
+        } finally {
+            isAnimating = false
+        }
+    }
+
+    /**
+     * Animates the slider back to the initial state.
+     * @param animateCompletion False to only move the cursor to the start
+     * @param durationMillis Duration of each phase of the animation
+     */
+    suspend fun reset(
+        animateCompletion: Boolean = true,
+        durationMillis: Int = DEFAULT_ANIMATION_DURATION,
+    ) = mutex.withLock {
+        if (!isCompleted) {
+            return@withLock
+        }
+        isAnimating = true
+        try {
+            if (animateCompletion) {
+                animateValue(tickFraction, 0f, durationMillis, DEFAULT_EASING) {
+                    tickFraction = it
+                }
+                animateValue(areaFraction, 0f, durationMillis, DEFAULT_EASING) {
+                    areaFraction = it
+                }
+            }
+            animateValue(position, 0f, durationMillis, DEFAULT_EASING) {
+                setPosition(it)
+            }
+            if (animateCompletion) {
+                animateValue(marginFraction, 0f, durationMillis, RESET_MARGIN_EASING) {
+                    marginFraction = it
+                }
+            }
+            core.reset()
+            isCompleted = false
+        } finally {
+            isAnimating = false
+        }
+    }
+
+    private suspend fun animateValue(
+        from: Float,
+        to: Float,
+        durationMillis: Int,
+        easing: Easing,
+        block: (Float) -> Unit,
+    ) {
+        animate(from, to, animationSpec = tween(durationMillis, easing = easing)) { value, _ ->
+            block(value)
+        }
+    }
+
+    /** Moves the cursor back to the start, after a release before the grace value */
+    internal suspend fun snapBack(durationMillis: Int) =
+        mutex.withLock {
+            isAnimating = true
+            try {
+                animateValue(position, 0f, durationMillis, DEFAULT_EASING) {
+                    setPosition(it)
+                }
+            } finally {
+                isAnimating = false
+            }
+        }
+}
@@ -0,0 +1,128 @@
+package com.ncorti.slidetoact.core
+
+/**
+ *  Fixed-capacity ring buffer of the touch samples of a single gesture.
+ *
+ *  Samples are stored in primitive arrays allocated upfront, so recording never allocates
+ *  nor boxes. When the buffer is full the oldest samples are overwritten. At the end of the
+ *  gesture the buffer is drained into a [SlideToActGestureTrace].
+ */
+class SlideToActGestureRecorder(
+    /** Max number of samples kept for a gesture */
+    val capacity: Int = DEFAULT_CAPACITY,
+) {
+    companion object {
+        /** Default capacity, enough for ~2 seconds of a 120Hz digitizer */
+        const val DEFAULT_CAPACITY = 256
+    }
+
+    init {
+        require(capacity > 0) { "Capacity must be positive, was $capacity" }
+    }
+
+    private val times = LongArray(capacity)
+    private val xs = FloatArray(capacity)
+    private val ys = FloatArray(capacity)
+    private val velocities = FloatArray(capacity)
+
+    /** Index of the oldest sample */
+    private var head = 0
+
+    /** Number of samples in the buffer */
+    var size: Int = 0
+        private set
+
+    /** Number of samples overwritten because the buffer was full */
+    var droppedSamples: Int = 0
+        private set
+
+    /** True between [begin] and [drain] */
+    var isRecording: Boolean = false
+        private set
+
+    /**
+     * Starts recording a new gesture, discarding the previous samples.
+     * @param timeMillis Time of the down event, in milliseconds
+     */
+    fun begin(
+        timeMillis: Long,
+        x: Float,
+        y: Float,
+    ) {
+        clear()
+        isRecording = true
+        record(timeMillis, x, y)
+    }
+
+    /**
+     * Records a sample of the current gesture. The velocity is computed from the previous sample.
+     * @param timeMillis Time of the sample, in milliseconds
+     */
+    fun record(
+        timeMillis: Long,
+        x: Float,
+        y: Float,
+    ) {
+        if (!isRecording) {
+            return
+        }
+        var velocity = 0f
+        if (size > 0) {
+            val last = (head + size - 1) % capacity
+            val elapsed = timeMillis - times[last]
+            velocity = if (elapsed > 0) (x - xs[last]) * 1000f / elapsed else velocities[last]
+        }
+        val index: Int
+        if (size < capacity) {
+            index = (head + size) % capacity
+            size++
+        } else {
+            index = head
+            head = (head + 1) % capacity
+            droppedSamples++
+        }
+        times[index] = timeMillis
+        xs[index] = x
+        ys[index] = y
+        velocities[index] = velocity
+    }
+
+    /**
+     * Stops recording and copies the samples into a compact trace.
+     * @param release How the gesture ended
+     */
+    fun drain(release: SlideToActState.Release): SlideToActGestureTrace {
+        val startTime = if (size > 0) times[head] else 0L
+        val timeOffsets = IntArray(size)
+        val traceXs = FloatArray(size)
+        val traceYs = FloatArray(size)
+        val traceVelocities = FloatArray(size)
+        for (i in 0 until size) {
+            val index = (head + i) % capacity
+            timeOffsets[i] = (times[index] - startTime).toInt()
+            traceXs[i] = xs[index]
+            traceYs[i] = ys[index]
+            traceVelocities[i] = velocities[index]
+        }
+        val trace =
+            SlideToActGestureTrace(
+                release,
+                startTime,
+                droppedSamples,
+                timeOffsets,
+                traceXs,
+                traceYs,
+                traceVelocities,
+            )
+        clear()
+        return trace
+    }
+
+    /** Discards every sample and stops recording */
+    fun clear() {
+        head = 0
+        size = 0
+        droppedSamples = 0
+        isRecording = false
+    }
+}
@@ -0,0 +1,136 @@
+package com.ncorti.slidetoact.core
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ *  Trajectory of a gesture on a SlideToActView, from the down event to the release.
+ *
+ *  Every sample holds the time, the pointer coordinates (in pixels, relative to the view)
+ *  and the horizontal velocity (in pixels per second). A trace can be packed into a compact
+ *  byte array with [toByteArray] and read back with [fromByteArray].
+ */
+class SlideToActGestureTrace internal constructor(
+    /** How the gesture ended */
+    val release: SlideToActState.Release,
+    /** Time of the first sample, in milliseconds */
+    val startTimeMillis: Long,
+    /** Number of samples lost because the gesture was longer than the recorder capacity */
+    val droppedSamples: Int,
+    private val timeOffsets: IntArray,
+    private val xs: FloatArray,
+    private val ys: FloatArray,
+    private val velocities: FloatArray,
+) {
+    companion object {
+        /** Version of the packed format, the first byte of [toByteArray] */
+        const val FORMAT_VERSION: Byte = 1
+
+        private const val HEADER_BYTES = 1 + 1 + 8 + 4 + 4
+        private const val SAMPLE_BYTES = 4 + 4 + 4 + 4
+
+        /**
+         * Codes of the releases in the packed format. They are part of the format, so they
+         * must not change when [SlideToActState.Release] changes.
+         */
+        private const val RELEASE_NONE: Byte = 0
+        private const val RELEASE_SNAP_BACK: Byte = 1
+        private const val RELEASE_COMPLETE: Byte = 2
+        private const val RELEASE_FAILED: Byte = 3
+
+        private fun SlideToActState.Release.toCode(): Byte =
+            when (this) {
+                SlideToActState.Release.NONE -> RELEASE_NONE
+                SlideToActState.Release.SNAP_BACK -> RELEASE_SNAP_BACK
+                SlideToActState.Release.COMPLETE -> RELEASE_COMPLETE
+                SlideToActState.Release.FAILED -> RELEASE_FAILED
+            }
+
+        private fun releaseOf(code: Byte): SlideToActState.Release =
+            when (code) {
+                RELEASE_NONE -> SlideToActState.Release.NONE
+                RELEASE_SNAP_BACK -> SlideToActState.Release.SNAP_BACK
+                RELEASE_COMPLETE -> SlideToActState.Release.COMPLETE
+                RELEASE_FAILED -> SlideToActState.Release.FAILED
+                else -> throw IllegalArgumentException("Unknown release in packed trace: $code")
+            }
+
+        /**
+         * Reads a trace packed with [toByteArray].
+         * @throws IllegalArgumentException if the bytes are not a valid packed trace
+         */
+        @JvmStatic
+        fun fromByteArray(bytes: ByteArray): SlideToActGestureTrace {
+            require(bytes.size >= HEADER_BYTES) { "Packed trace too short: ${bytes.size} bytes" }
+            val buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN)
+            val version = buffer.get()
+            require(version == FORMAT_VERSION) { "Unsupported packed trace version: $version" }
+            val release = releaseOf(buffer.get())
+            val startTime = buffer.long
+            val dropped = buffer.int
+            val size = buffer.int
+            // The size is checked against the bytes left before allocating anything, so a
+            // corrupt size can neither overflow nor allocate huge arrays.
+            val remaining = buffer.remaining()
+            require(size in 0..remaining / SAMPLE_BYTES && remaining == size * SAMPLE_BYTES) {
+                "Packed trace of $size samples can't be ${bytes.size} bytes"
+            }
+            val timeOffsets = IntArray(size)
+            val xs = FloatArray(size)
+            val ys = FloatArray(size)
+            val velocities = FloatArray(size)
+            for (i in 0 until size) {
+                timeOffsets[i] = buffer.int
+                xs[i] = buffer.float
+                ys[i] = buffer.float
+                velocities[i] = buffer.float
+            }
+            return SlideToActGestureTrace(
+                release,
+                startTime,
+                dropped,
+                timeOffsets,
+                xs,
+                ys,
+                velocities,
+            )
+        }
+    }
+
+    /** Number of samples in the trace */
+    val size: Int
+        get() = timeOffsets.size
+
+    /** @return The time of the sample at [index], in milliseconds */
+    fun getTimeMillis(index: Int): Long = startTimeMillis + timeOffsets[index]
+
+    /** @return The horizontal coordinate of the pointer at [index], in pixels */
+    fun getX(index: Int): Float = xs[index]
+
+    /** @return The vertical coordinate of the pointer at [index], in pixels */
+    fun getY(index: Int): Float = ys[index]
+
+    /** @return The horizontal velocity of the pointer at [index], in pixels per second */
+    fun getVelocity(index: Int): Float = velocities[index]
+
+    /**
+     * Packs the trace in a little endian byte array: an header (version, release, start time,
+     * dropped samples and size) followed by 16 bytes per sample (time offset, x, y, velocity).
+     */
+    fun toByteArray(): ByteArray {
+        val buffer =
+            ByteBuffer.allocate(HEADER_BYTES + size * SAMPLE_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+        buffer.put(FORMAT_VERSION)
+        buffer.put(release.toCode())
+        buffer.putLong(startTimeMillis)
+        buffer.putInt(droppedSamples)
+        buffer.putInt(size)
+        for (i in 0 until size) {
+            buffer.putInt(timeOffsets[i])
+            buffer.putFloat(xs[i])
+            buffer.putFloat(ys[i])
+            buffer.putFloat(velocities[i])
+        }
+        return buffer.array()
+    }
+}
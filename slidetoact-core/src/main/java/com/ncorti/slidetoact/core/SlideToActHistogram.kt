@@ -0,0 +1,72 @@
+package com.ncorti.slidetoact.core
+
+import kotlin.math.ceil
+
+/**
+ *  Fixed-size histogram of non negative values.
+ *
+ *  Values are grouped in [bucketCount] linear buckets of [bucketWidth], plus an overflow
+ *  bucket. All the storage is allocated upfront, so recording a value never allocates.
+ */
+internal class SlideToActHistogram(
+    private val bucketWidth: Long,
+    bucketCount: Int,
+) {
+    private val counts = LongArray(bucketCount + 1)
+
+    /** Number of recorded values */
+    var count: Long = 0
+        private set
+
+    /** Sum of the recorded values */
+    var sum: Long = 0
+        private set
+
+    /** Biggest recorded value */
+    var max: Long = 0
+        private set
+
+    fun record(value: Long) {
+        val index = (value / bucketWidth).coerceIn(0L, (counts.size - 1).toLong()).toInt()
+        counts[index]++
+        count++
+        sum += value
+        if (value > max) {
+            max = value
+        }
+    }
+
+    /**
+     * Estimates a percentile of the recorded values.
+     * @param percentile The percentile to compute, between 0f and 1f
+     * @return The upper bound of the bucket holding the percentile, or the exact value if the
+     * buckets have a width of 1. 0 if nothing was recorded
+     */
+    fun percentile(percentile: Float): Long {
+        if (count == 0L) {
+            return 0
+        }
+        val target = maxOf(1L, ceil(count * percentile.toDouble()).toLong())
+        var seen = 0L
+        for (i in counts.indices) {
+            seen += counts[i]
+            if (seen >= target) {
+                return when {
+                    // The overflow bucket has no upper bound, the max is the best estimate.
+                    i == counts.size - 1 -> max
+                    // Every bucket holds a single value, e.g. the touch events per gesture.
+                    bucketWidth == 1L -> i.toLong()
+                    else -> minOf((i + 1) * bucketWidth, max)
+                }
+            }
+        }
+        return max
+    }
+
+    fun reset() {
+        counts.fill(0)
+        count = 0
+        sum = 0
+        max = 0
+    }
+}
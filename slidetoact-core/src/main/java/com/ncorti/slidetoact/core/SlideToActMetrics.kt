@@ -0,0 +1,153 @@
+package com.ncorti.slidetoact.core
+
+/**
+ *  Frame and gesture metrics of a single SlideToActView.
+ *
+ *  Every value is recorded in pre-allocated histograms and counters, so collecting metrics
+ *  never allocates. Only [snapshot] creates a new object, to be read by the app.
+ */
+class SlideToActMetrics {
+    companion object {
+        private const val DRAW_BUCKET_NANOS = 50_000L
+        private const val DRAW_BUCKETS = 400
+        private const val TOUCH_BUCKETS = 256
+        private const val LATENCY_BUCKET_NANOS = 10_000_000L
+        private const val LATENCY_BUCKETS = 200
+
+        /** A frame is over budget when it takes more than 1.5 vsync intervals */
+        private const val OVER_BUDGET_RATIO = 1.5F
+    }
+
+    /**
+     * Immutable copy of the metrics collected so far. Durations are in nanoseconds and
+     * percentiles are estimated from the histograms.
+     */
+    data class Snapshot(
+        /** Number of frames drawn by the view */
+        val framesDrawn: Long,
+        /** Cumulative time spent in `onDraw` */
+        val drawTimeTotalNanos: Long,
+        val drawTimeP50Nanos: Long,
+        val drawTimeP95Nanos: Long,
+        val drawTimeP99Nanos: Long,
+        /** Number of gestures that grabbed the cursor */
+        val gestures: Long,
+        /** Touch events handled during the last gesture */
+        val touchEventsLastGesture: Int,
+        val touchEventsPerGestureP50: Long,
+        val touchEventsPerGestureP95: Long,
+        /** Time from `ACTION_UP` to `onSlideComplete` of the last completed gesture, -1 if none */
+        val completeLatencyLastNanos: Long,
+        val completeLatencyP50Nanos: Long,
+        val completeLatencyP95Nanos: Long,
+        /** Number of frames played by the animations */
+        val animationFrames: Long,
+        /** Number of animation frames that came later than the frame budget */
+        val animationFramesOverBudget: Long,
+    )
+
+    private val drawTimes = SlideToActHistogram(DRAW_BUCKET_NANOS, DRAW_BUCKETS)
+    private val touchEvents = SlideToActHistogram(1, TOUCH_BUCKETS)
+    private val completeLatencies = SlideToActHistogram(LATENCY_BUCKET_NANOS, LATENCY_BUCKETS)
+
+    private var gestureTouchEvents = 0
+    private var lastGestureTouchEvents = 0
+    private var isInGesture = false
+    private var releaseNanos = -1L
+    private var lastCompleteLatency = -1L
+    private var animationFrames = 0L
+    private var animationFramesOverBudget = 0L
+
+    /** Records the duration of a single `onDraw` */
+    fun onFrameDrawn(durationNanos: Long) {
+        drawTimes.record(durationNanos)
+    }
+
+    /** Records the start of a gesture that grabbed the cursor */
+    fun onGestureStart() {
+        isInGesture = true
+        gestureTouchEvents = 1
+        releaseNanos = -1L
+    }
+
+    /** Records a touch event handled while the gesture is in progress */
+    fun onGestureTouchEvent() {
+        if (isInGesture) {
+            gestureTouchEvents++
+        }
+    }
+
+    /**
+     * Records the end of the current gesture.
+     * @param timeNanos Time of the `ACTION_UP`, used to measure the complete latency.
+     * -1 if the gesture won't complete the slider.
+     */
+    fun onGestureEnd(timeNanos: Long) {
+        if (!isInGesture) {
+            return
+        }
+        isInGesture = false
+        lastGestureTouchEvents = gestureTouchEvents
+        touchEvents.record(gestureTouchEvents.toLong())
+        releaseNanos = timeNanos
+    }
+
+    /** Records the completion of the slider, measuring the time from the last release */
+    fun onCompleted(timeNanos: Long) {
+        if (releaseNanos < 0) {
+            // Completed programmatically, there is no gesture to measure.
+            return
+        }
+        lastCompleteLatency = timeNanos - releaseNanos
+        completeLatencies.record(lastCompleteLatency)
+        releaseNanos = -1L
+    }
+
+    /**
+     * Records an animation frame.
+     * @param intervalNanos Time since the previous frame of the same animation
+     * @param budgetNanos Time between two vsync of the display
+     */
+    fun onAnimationFrame(
+        intervalNanos: Long,
+        budgetNanos: Long,
+    ) {
+        animationFrames++
+        if (intervalNanos > budgetNanos * OVER_BUDGET_RATIO) {
+            animationFramesOverBudget++
+        }
+    }
+
+    /** Clears all the collected metrics */
+    fun reset() {
+        drawTimes.reset()
+        touchEvents.reset()
+        completeLatencies.reset()
+        gestureTouchEvents = 0
+        lastGestureTouchEvents = 0
+        isInGesture = false
+        releaseNanos = -1L
+        lastCompleteLatency = -1L
+        animationFrames = 0
+        animationFramesOverBudget = 0
+    }
+
+    /** @return A copy of the metrics collected so far */
+    fun snapshot(): Snapshot =
+        Snapshot(
+            framesDrawn = drawTimes.count,
+            drawTimeTotalNanos = drawTimes.sum,
+            drawTimeP50Nanos = drawTimes.percentile(0.5f),
+            drawTimeP95Nanos = drawTimes.percentile(0.95f),
+            drawTimeP99Nanos = drawTimes.percentile(0.99f),
+            gestures = touchEvents.count,
+            touchEventsLastGesture = lastGestureTouchEvents,
+            touchEventsPerGestureP50 = touchEvents.percentile(0.5f),
+            touchEventsPerGestureP95 = touchEvents.percentile(0.95f),
+            completeLatencyLastNanos = lastCompleteLatency,
+            completeLatencyP50Nanos = completeLatencies.percentile(0.5f),
+            completeLatencyP95Nanos = completeLatencies.percentile(0.95f),
+            animationFrames = animationFrames,
+            animationFramesOverBudget = animationFramesOverBudget,
+        )
+}
@@ -0,0 +1,278 @@
+package com.ncorti.slidetoact.core
+
+/**
+ *  Class representing the state machine behind a SlideToActView.
+ *
+ *  It holds the cursor position, the grace check and the completed flag, and it doesn't
+ *  depend on the Android framework. This allows to reuse (and benchmark) the gesture logic
+ *  on a plain JVM.
+ */
+class SlideToActState {
+    companion object {
+        /** Default grace value, see [graceValue] */
+        const val DEFAULT_GRACE_VALUE = 0.8F
+
+        /** Time (in seconds) a fling keeps moving the cursor, used to project its landing */
+        const val FLING_PROJECTION_SECONDS = 0.15F
+    }
+
+    /**
+     * Possible outcomes of a released gesture, see [onTouchUp].
+     */
+    enum class Release {
+        /** Nothing to do, the cursor was never grabbed nor moved */
+        NONE,
+
+        /** The cursor should go back to the start position */
+        SNAP_BACK,
+
+        /** The slide gesture has been completed */
+        COMPLETE,
+
+        /** The user grabbed the cursor but released it at the start position */
+        FAILED,
+    }
+
+    /** Width of the drawing area */
+    var areaWidth: Int = 0
+        private set
+
+    /** Height of the drawing area */
+    var areaHeight: Int = 0
+        private set
+
+    /** Max position of the cursor, the position is between 0 and `areaWidth - areaHeight` */
+    val maxPosition: Int
+        get() = areaWidth - areaHeight
+
+    /**
+     * Slider cursor position (between 0 and [maxPosition]). The position is tracked with
+     * sub-pixel precision, so slow drags don't lose the fractional movements.
+     */
+    var position: Float = 0f
+        set(value) {
+            field = value
+            if (maxPosition == 0) {
+                // Avoid 0 division
+                positionPerc = 0f
+                positionPercInv = 1f
+                return
+            }
+            positionPerc = value / maxPosition.toFloat()
+            positionPercInv = 1 - value / maxPosition.toFloat()
+            effectivePosition = if (isReversed) maxPosition - value else value
+        }
+
+    /** Slider cursor effective position. This is used to handle the `reversed` scenario. */
+    var effectivePosition: Float = 0f
+        private set
+
+    /** Slider cursor position in percentage (between 0f and 1f) */
+    var positionPerc: Float = 0f
+        private set
+
+    /** 1/positionPerc */
+    var positionPercInv: Float = 1f
+        private set
+
+    /** Grace value, when positionPerc > graceValue slider will perform the 'complete' operations */
+    var graceValue: Float = DEFAULT_GRACE_VALUE
+        set(value) {
+            field = value.coerceIn(0f, 1f)
+        }
+
+    /**
+     * Min velocity (in pixels per second, towards the end) of a fling that can complete the
+     * slider, even if it's released before the [graceValue]. 0 disables the fling completion.
+     */
+    var flingVelocityThreshold: Float = 0f
+
+    /** Flag to lock the slider */
+    var isLocked = false
+
+    /** Flag to reverse the slider by 180 degree */
+    var isReversed = false
+        set(value) {
+            field = value
+            // We reassign the position field to trigger the re-computation of the effective position.
+            position = position
+        }
+
+    /** Flag to check if the slide gesture have been completed */
+    var isCompleted = false
+
+    /** Flag to understand if user is moving the slider cursor */
+    var isMoving: Boolean = false
+        private set
+
+    /** Last X coordinate for the touch event */
+    private var lastX: Float = 0F
+
+    /**
+     * Updates the size of the drawing area. The position is recomputed against the new size.
+     */
+    fun setSize(
+        width: Int,
+        height: Int,
+    ) {
+        areaWidth = width
+        areaHeight = height
+        position = position
+    }
+
+    /**
+     * Method to check if user has touched the slider cursor
+     * @param x The x coordinate of the touch event
+     * @param y The y coordinate of the touch event
+     * @return A boolean that informs if user has pressed or not
+     */
+    fun isInsideCursor(
+        x: Float,
+        y: Float,
+    ): Boolean {
+        return (
+            0 < y &&
+                y < areaHeight &&
+                effectivePosition < x &&
+                x < (areaHeight + effectivePosition)
+        )
+    }
+
+    /**
+     * Method for increasing/decreasing the position
+     * Ensure that position never exits from its range [0, maxPosition].
+     *
+     * Please note that the increment is inverted in case of a reversed slider.
+     *
+     * @param inc Increment to be performed (negative if it's a decrement)
+     */
+    fun increasePosition(inc: Float) {
+        var newPosition =
+            if (isReversed) {
+                position - inc
+            } else {
+                position + inc
+            }
+        if (newPosition < 0f) {
+            newPosition = 0f
+        }
+        if (newPosition > maxPosition) {
+            newPosition = maxPosition.toFloat()
+        }
+        position = newPosition
+    }
+
+    /**
+     * Handles a down event.
+     * @return True if the user grabbed the cursor, False if the user pressed outside of it.
+     */
+    fun onTouchDown(
+        x: Float,
+        y: Float,
+    ): Boolean {
+        isMoving = isInsideCursor(x, y)
+        if (isMoving) {
+            lastX = x
+        }
+        return isMoving
+    }
+
+    /**
+     * Handles a move sample, moving the cursor if it was grabbed. Call this method for every
+     * historical sample of a batched move event, so no movement is lost.
+     * @return True if this sample brought the cursor to the end position.
+     */
+    fun onTouchMove(x: Float): Boolean {
+        if (!isMoving) {
+            return false
+        }
+        // True if the cursor was not at the end position before this sample
+        val wasIncomplete = positionPerc < 1f
+
+        val diffX = x - lastX
+        lastX = x
+        increasePosition(diffX)
+        return wasIncomplete && positionPerc == 1f
+    }
+
+    /**
+     * Handles a change of the pointer that drives the cursor (e.g. the first finger is lifted
+     * while a second one is still down). The cursor doesn't jump to the new pointer.
+     */
+    fun onPointerChanged(x: Float) {
+        lastX = x
+    }
+
+    /**
+     * Projects where the cursor would land if it kept moving at [velocityX] for
+     * [FLING_PROJECTION_SECONDS].
+     * @param velocityX The horizontal velocity of the pointer, in pixels per second
+     * @return The projected position, between 0 and [maxPosition]
+     */
+    fun projectPosition(velocityX: Float): Float {
+        val velocity = if (isReversed) -velocityX else velocityX
+        return (position + velocity * FLING_PROJECTION_SECONDS).coerceIn(0f, maxPosition.toFloat())
+    }
+
+    /**
+     * Checks if a release at [velocityX] is a fling that completes the slider: the velocity
+     * is above [flingVelocityThreshold] and the projected landing is past the [graceValue].
+     */
+    fun isCompletingFling(velocityX: Float): Boolean {
+        if (flingVelocityThreshold <= 0f || isLocked || maxPosition == 0) {
+            return false
+        }
+        val velocity = if (isReversed) -velocityX else velocityX
+        return velocity >= flingVelocityThreshold &&
+            projectPosition(velocityX) / maxPosition.toFloat() >= graceValue
+    }
+
+    /**
+     * Handles an up event and decides what the slider should do next.
+     * @param velocityX The horizontal velocity of the pointer (in pixels per second), used to
+     * complete the slider with a fling. See [flingVelocityThreshold].
+     * @return The [Release] action to be performed.
+     */
+    fun onTouchUp(velocityX: Float = 0f): Release {
+        val release =
+            if (position > 0f && isCompletingFling(velocityX)) {
+                Release.COMPLETE
+            } else if (position > 0f && (isLocked || positionPerc < graceValue)) {
+                // Check for grace value
+                Release.SNAP_BACK
+            } else if (position > 0f && positionPerc >= graceValue) {
+                Release.COMPLETE
+            } else if (isMoving && position == 0f) {
+                // isMoving == true means user successfully grabbed the slider,
+                // but position == 0 means that the slider is released at the beginning
+                // so either a Tap or the user slided back.
+                Release.FAILED
+            } else {
+                Release.NONE
+            }
+        isMoving = false
+        return release
+    }
+
+    /**
+     * Handles a cancelled gesture (e.g. a parent intercepted the touch events). The gesture
+     * never completes nor fails: the cursor simply goes back to the start position.
+     * @return The [Release] action to be performed.
+     */
+    fun onTouchCancel(): Release {
+        isMoving = false
+        return if (position > 0f) Release.SNAP_BACK else Release.NONE
+    }
+
+    /** Moves the state to the completed position */
+    fun setCompleted() {
+        position = maxPosition.toFloat()
+        isCompleted = true
+    }
+
+    /** Moves the state back to the base position */
+    fun reset() {
+        position = 0f
+        isCompleted = false
+    }
+}
@@ -0,0 +1,119 @@
+package com.ncorti.slidetoact.core
+
+import com.ncorti.slidetoact.core.SlideToActState.Release
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+class SlideToActGestureTraceTest {
+    @Test
+    fun roundTrip_keepsEverySample() {
+        val trace = record(Release.COMPLETE, samples = 5, capacity = 3)
+
+        val read = SlideToActGestureTrace.fromByteArray(trace.toByteArray())
+
+        assertEquals(Release.COMPLETE, read.release)
+        assertEquals(trace.startTimeMillis, read.startTimeMillis)
+        assertEquals(2, read.droppedSamples)
+        assertEquals(3, read.size)
+        for (i in 0 until read.size) {
+            assertEquals(trace.getTimeMillis(i), read.getTimeMillis(i))
+            assertEquals(trace.getX(i), read.getX(i), 0f)
+            assertEquals(trace.getY(i), read.getY(i), 0f)
+            assertEquals(trace.getVelocity(i), read.getVelocity(i), 0f)
+        }
+    }
+
+    @Test
+    fun roundTrip_keepsEveryRelease() {
+        for (release in Release.values()) {
+            val read = SlideToActGestureTrace.fromByteArray(record(release).toByteArray())
+
+            assertEquals(release, read.release)
+        }
+    }
+
+    @Test
+    fun releaseCodes_areStable() {
+        // The codes are part of the packed format, reordering the enum must not change them.
+        assertEquals(0, record(Release.NONE).toByteArray()[1].toInt())
+        assertEquals(1, record(Release.SNAP_BACK).toByteArray()[1].toInt())
+        assertEquals(2, record(Release.COMPLETE).toByteArray()[1].toInt())
+        assertEquals(3, record(Release.FAILED).toByteArray()[1].toInt())
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun truncatedHeader_isRejected() {
+        SlideToActGestureTrace.fromByteArray(ByteArray(4))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun truncatedSamples_areRejected() {
+        val bytes = record(Release.COMPLETE).toByteArray()
+
+        SlideToActGestureTrace.fromByteArray(bytes.copyOf(bytes.size - 1))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun unknownVersion_isRejected() {
+        val bytes = record(Release.COMPLETE).toByteArray()
+        bytes[0] = 42
+
+        SlideToActGestureTrace.fromByteArray(bytes)
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun unknownRelease_isRejected() {
+        val bytes = record(Release.COMPLETE).toByteArray()
+        bytes[1] = 42
+
+        SlideToActGestureTrace.fromByteArray(bytes)
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun negativeSize_isRejected() {
+        SlideToActGestureTrace.fromByteArray(withSize(record(Release.NONE), -1))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun hugeSize_isRejectedBeforeAllocating() {
+        // 0x10000000 samples of 16 bytes overflow to 0: the bytes left must not match.
+        val bytes = withSize(record(Release.NONE, samples = 0), 0x10000000)
+
+        SlideToActGestureTrace.fromByteArray(bytes)
+    }
+
+    private fun record(
+        release: Release,
+        samples: Int = 3,
+        capacity: Int = SlideToActGestureRecorder.DEFAULT_CAPACITY,
+    ): SlideToActGestureTrace {
+        val recorder = SlideToActGestureRecorder(capacity)
+        for (i in 0 until samples) {
+            if (i == 0) {
+                recorder.begin(START_TIME, 10f, 20f)
+            } else {
+                recorder.record(START_TIME + i * 8L, 10f + i * 12.5f, 20f + i)
+            }
+        }
+        return recorder.drain(release)
+    }
+
+    /** Packs [trace] and overwrites its size, the last field of the header */
+    private fun withSize(
+        trace: SlideToActGestureTrace,
+        size: Int,
+    ): ByteArray {
+        val bytes = trace.toByteArray()
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(SIZE_OFFSET, size)
+        return bytes
+    }
+
+    private companion object {
+        const val START_TIME = 1_000L
+
+        /** Offset of the size in the header: version, release, start time and dropped */
+        const val SIZE_OFFSET = 1 + 1 + 8 + 4
+    }
+}
@@ -0,0 +1,101 @@
+package com.ncorti.slidetoact.core
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class SlideToActHistogramTest {
+    private val histogram = SlideToActHistogram(bucketWidth = 10, bucketCount = 5)
+
+    @Test
+    fun emptyHistogram_hasNoPercentiles() {
+        assertEquals(0L, histogram.count)
+        assertEquals(0L, histogram.percentile(0.5f))
+        assertEquals(0L, histogram.percentile(0.99f))
+    }
+
+    @Test
+    fun record_tracksCountSumAndMax() {
+        histogram.record(3)
+        histogram.record(25)
+        histogram.record(12)
+
+        assertEquals(3L, histogram.count)
+        assertEquals(40L, histogram.sum)
+        assertEquals(25L, histogram.max)
+    }
+
+    @Test
+    fun percentile_isTheUpperBoundOfItsBucket() {
+        // One value per bucket: [0, 10), [10, 20), [20, 30), [30, 40).
+        listOf(5L, 15L, 25L, 35L).forEach { histogram.record(it) }
+
+        assertEquals(10L, histogram.percentile(0.25f))
+        assertEquals(20L, histogram.percentile(0.5f))
+        assertEquals(30L, histogram.percentile(0.75f))
+        // The last bucket is capped by the max, the bound would overestimate it.
+        assertEquals(35L, histogram.percentile(1f))
+    }
+
+    @Test
+    fun percentile_roundsTheRankUp() {
+        // 3 values: the median is the 2nd one, not the 1st one.
+        listOf(5L, 15L, 25L).forEach { histogram.record(it) }
+
+        assertEquals(20L, histogram.percentile(0.5f))
+        assertEquals(10L, histogram.percentile(0f))
+    }
+
+    @Test
+    fun bucketBoundaries_goToTheNextBucket() {
+        histogram.record(10)
+        histogram.record(19)
+
+        assertEquals(19L, histogram.percentile(0.5f))
+        assertEquals(19L, histogram.percentile(1f))
+    }
+
+    @Test
+    fun valuesOverTheLastBucket_areEstimatedWithTheMax() {
+        histogram.record(5)
+        histogram.record(500)
+        histogram.record(1000)
+
+        assertEquals(10L, histogram.percentile(0.3f))
+        assertEquals(1000L, histogram.percentile(0.5f))
+        assertEquals(1000L, histogram.percentile(0.99f))
+    }
+
+    @Test
+    fun unitBuckets_reportExactValues() {
+        val counts = SlideToActHistogram(bucketWidth = 1, bucketCount = 10)
+        listOf(2L, 3L, 3L, 7L).forEach { counts.record(it) }
+
+        assertEquals(2L, counts.percentile(0.25f))
+        assertEquals(3L, counts.percentile(0.5f))
+        assertEquals(3L, counts.percentile(0.75f))
+        assertEquals(7L, counts.percentile(1f))
+    }
+
+    @Test
+    fun unitBuckets_estimateTheOverflowWithTheMax() {
+        val counts = SlideToActHistogram(bucketWidth = 1, bucketCount = 10)
+        counts.record(4)
+        counts.record(42)
+
+        assertEquals(4L, counts.percentile(0.5f))
+        assertEquals(42L, counts.percentile(1f))
+    }
+
+    @Test
+    fun reset_clearsEverything() {
+        histogram.record(5)
+        histogram.record(500)
+
+        histogram.reset()
+
+        assertEquals(0L, histogram.count)
+        assertEquals(0L, histogram.sum)
+        assertEquals(0L, histogram.max)
+        assertEquals(0L, histogram.percentile(0.5f))
+    }
+}
@@ -0,0 +1,129 @@
+package com.ncorti.slidetoact.core
+
+import com.ncorti.slidetoact.core.SlideToActState.Release
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class SlideToActStateTest {
+    private lateinit var state: SlideToActState
+
+    @Before
+    fun setUp() {
+        state = SlideToActState()
+        state.setSize(WIDTH, HEIGHT)
+    }
+
+    @Test
+    fun touchDown_outsideTheCursor_isIgnored() {
+        assertFalse(state.onTouchDown(WIDTH / 2f, HEIGHT / 2f))
+        assertFalse(state.onTouchMove(WIDTH.toFloat()))
+
+        assertEquals(0f, state.position, 0f)
+        assertEquals(Release.NONE, state.onTouchUp())
+    }
+
+    @Test
+    fun dragPastTheGraceValue_completes() {
+        assertTrue(state.onTouchDown(HEIGHT / 2f, HEIGHT / 2f))
+        state.onTouchMove(HEIGHT / 2f + MAX_POSITION * 0.9f)
+
+        assertEquals(0.9f, state.positionPerc, EPSILON)
+        assertEquals(Release.COMPLETE, state.onTouchUp())
+        assertFalse(state.isMoving)
+    }
+
+    @Test
+    fun dragBeforeTheGraceValue_snapsBack() {
+        state.onTouchDown(HEIGHT / 2f, HEIGHT / 2f)
+        state.onTouchMove(HEIGHT / 2f + MAX_POSITION * 0.5f)
+
+        assertEquals(Release.SNAP_BACK, state.onTouchUp())
+    }
+
+    @Test
+    fun lockedSlider_alwaysSnapsBack() {
+        state.isLocked = true
+        state.onTouchDown(HEIGHT / 2f, HEIGHT / 2f)
+        state.onTouchMove(WIDTH.toFloat())
+
+        assertEquals(Release.SNAP_BACK, state.onTouchUp())
+    }
+
+    @Test
+    fun tapOnTheCursor_fails() {
+        state.onTouchDown(HEIGHT / 2f, HEIGHT / 2f)
+
+        assertEquals(Release.FAILED, state.onTouchUp())
+    }
+
+    @Test
+    fun touchMove_reportsTheEndOnlyOnce() {
+        state.onTouchDown(HEIGHT / 2f, HEIGHT / 2f)
+
+        assertTrue(state.onTouchMove(WIDTH * 2f))
+        assertFalse(state.onTouchMove(WIDTH * 3f))
+        assertEquals(MAX_POSITION.toFloat(), state.position, 0f)
+    }
+
+    @Test
+    fun reversedSlider_movesTowardsTheStart() {
+        state.isReversed = true
+        val cursorX = MAX_POSITION + HEIGHT / 2f
+        assertTrue(state.onTouchDown(cursorX, HEIGHT / 2f))
+
+        state.onTouchMove(cursorX - MAX_POSITION)
+
+        assertEquals(MAX_POSITION.toFloat(), state.position, 0f)
+        assertEquals(0f, state.effectivePosition, 0f)
+        assertEquals(Release.COMPLETE, state.onTouchUp())
+    }
+
+    @Test
+    fun fastFling_completesBeforeTheGraceValue() {
+        state.flingVelocityThreshold = 1000f
+        state.onTouchDown(HEIGHT / 2f, HEIGHT / 2f)
+        state.onTouchMove(HEIGHT / 2f + MAX_POSITION * 0.5f)
+
+        assertEquals(Release.COMPLETE, state.onTouchUp(velocityX = 5000f))
+    }
+
+    @Test
+    fun slowFling_snapsBack() {
+        state.flingVelocityThreshold = 1000f
+        state.onTouchDown(HEIGHT / 2f, HEIGHT / 2f)
+        state.onTouchMove(HEIGHT / 2f + MAX_POSITION * 0.5f)
+
+        assertEquals(Release.SNAP_BACK, state.onTouchUp(velocityX = 500f))
+    }
+
+    @Test
+    fun touchCancel_snapsBackWithoutFailing() {
+        state.onTouchDown(HEIGHT / 2f, HEIGHT / 2f)
+        assertEquals(Release.NONE, state.onTouchCancel())
+
+        state.onTouchDown(HEIGHT / 2f, HEIGHT / 2f)
+        state.onTouchMove(WIDTH.toFloat())
+        assertEquals(Release.SNAP_BACK, state.onTouchCancel())
+    }
+
+    @Test
+    fun setCompletedAndReset_moveTheCursor() {
+        state.setCompleted()
+        assertTrue(state.isCompleted)
+        assertEquals(1f, state.positionPerc, 0f)
+
+        state.reset()
+        assertFalse(state.isCompleted)
+        assertEquals(0f, state.position, 0f)
+    }
+
+    private companion object {
+        const val WIDTH = 1080
+        const val HEIGHT = 216
+        const val MAX_POSITION = WIDTH - HEIGHT
+        const val EPSILON = 1e-4f
+    }
+}
@@ -0,0 +1,131 @@
+plugins {
+    id("com.android.library")
+    id("maven-publish")
+    id("signing")
+    id("org.jlleitschuh.gradle.ktlint")
+    kotlin("android")
+}
+
+version = "0.12.0".plus(if (hasProperty("USE_SNAPSHOT")) "-SNAPSHOT" else "")
+group = "com.ncorti"
+
+android {
+    compileSdk = 35
+    namespace = "com.ncorti.slidetoact.testing"
+
+    defaultConfig {
+        minSdk = 14
+    }
+    lint {
+        abortOnError = true
+    }
+    testOptions {
+        unitTests {
+            // Robolectric needs the resources to inflate the slider icons.
+            isIncludeAndroidResources = true
+        }
+    }
+
+    publishing {
+        singleVariant("release") {
+            withSourcesJar()
+            withJavadocJar()
+        }
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+
+    kotlinOptions {
+        jvmTarget = JavaVersion.VERSION_11.toString()
+    }
+}
+
+dependencies {
+    api(project(":slidetoact"))
+
+    testImplementation("junit:junit:4.13.2")
+    testImplementation("org.robolectric:robolectric:4.15.1")
+    testImplementation("androidx.test:core:1.7.0")
+    testImplementation("androidx.appcompat:appcompat:1.6.1")
+}
+
+publishing {
+    repositories {
+        maven {
+            name = "nexus"
+            url = uri("https://oss.sonatype.org/service/local/staging/deploy/maven2/")
+            credentials {
+                username = "NEXUS_USERNAME".byProperty
+                password = "NEXUS_PASSWORD".byProperty
+            }
+        }
+        maven {
+            name = "snapshot"
+            url = uri("https://oss.sonatype.org/content/repositories/snapshots")
+            credentials {
+                username = "NEXUS_USERNAME".byProperty
+                password = "NEXUS_PASSWORD".byProperty
+            }
+        }
+    }
+    publications {
+        register<MavenPublication>("release") {
+            pom {
+                name.set("slidetoact-testing")
+                description.set(
+                    "Test utilities to verify the rendering of the SlideToActView",
+                )
+                url.set("https://github.com/cortinico/slidetoact")
+                licenses {
+                    license {
+                        name.set("MIT License")
+                        url.set("https://opensource.org/licenses/MIT")
+                    }
+                }
+                developers {
+                    developer {
+                        id.set("cortinico")
+                        name.set("Nicola Corti")
+                        email.set("corti.nico@gmail.com")
+                    }
+                }
+                scm {
+                    connection.set("https://github.com/cortinico/slidetoact.git")
+                    developerConnection.set("https://github.com/cortinico/slidetoact.git")
+                    url.set("https://github.com/cortinico/slidetoact")
+                }
+            }
+            afterEvaluate {
+                from(components["release"])
+            }
+        }
+
+        val signingKey = "SIGNING_KEY".byProperty
+        val signingPwd = "SIGNING_PWD".byProperty
+        if (signingKey.isNullOrBlank() || signingPwd.isNullOrBlank()) {
+            logger.info("Signing Disable as the PGP key was not found")
+        } else {
+            logger.info("GPG Key found - Signing enabled")
+            signing {
+                useInMemoryPgpKeys(signingKey, signingPwd)
+                sign(publishing.publications["release"])
+            }
+        }
+    }
+}
+
+ktlint {
+    debug.set(false)
+    verbose.set(true)
+    android.set(true)
+    outputToConsole.set(true)
+    ignoreFailures.set(false)
+    filter {
+        exclude("**/generated/**")
+    }
+}
+
+val String.byProperty: String? get() = findProperty(this) as? String
@@ -0,0 +1,37 @@
+package com.ncorti.slidetoact.testing
+
+/** Kind of the operations counted by a [DrawOpCountingCanvas] */
+enum class DrawOp {
+    /** `drawRoundRect`, used for the outer area and the cursor */
+    ROUND_RECT,
+
+    /** `drawRect` */
+    RECT,
+
+    /** `drawText` and `drawTextRun`, used for the label */
+    TEXT,
+
+    /**
+     * A drawable drawn by the slider (e.g. the arrow or the tick), counted when the frame is
+     * recorded by [SlideToActDrawRecorder] with a debug build of the library
+     */
+    DRAWABLE,
+
+    /** `drawBitmap`, used by the cached layers on software canvases */
+    BITMAP,
+
+    /** `drawPath` */
+    PATH,
+
+    /** `save`, `saveLayer` and `saveLayerAlpha` */
+    SAVE,
+
+    /** `restore`, once for every state popped by `restoreToCount` */
+    RESTORE,
+
+    /** `translate`, `scale`, `rotate`, `skew`, `concat` and `setMatrix` */
+    MATRIX,
+
+    /** `clipRect` and `clipPath` */
+    CLIP,
+}
@@ -0,0 +1,301 @@
+package com.ncorti.slidetoact.testing
+
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Matrix
+import android.graphics.Paint
+import android.graphics.Path
+import android.graphics.Rect
+import android.graphics.RectF
+import android.graphics.drawable.Drawable
+import android.os.Build.VERSION_CODES.LOLLIPOP
+import android.os.Build.VERSION_CODES.M
+import androidx.annotation.RequiresApi
+import com.ncorti.slidetoact.SlideToActDrawTracer
+import kotlin.math.max
+
+/**
+ * A software [Canvas] that counts every operation issued on it, while still drawing into
+ * [bitmap]. It runs on the JVM under Robolectric, so rendering regressions can be caught
+ * without a device.
+ *
+ * Overloads that the framework implements on top of each other are counted once. Final helpers
+ * are counted as the operations they issue: `rotate(degrees, px, py)` counts as three
+ * [DrawOp.MATRIX] operations.
+ */
+class DrawOpCountingCanvas(
+    bitmap: Bitmap,
+) : Canvas(bitmap),
+    SlideToActDrawTracer {
+    private val counts = IntArray(DrawOp.values().size)
+
+    /** Returns the operations counted since the last [reset]. */
+    fun counts(): DrawOpCounts = DrawOpCounts(counts.copyOf())
+
+    /** Clears the counters, e.g. before drawing a new frame. */
+    fun reset() {
+        counts.fill(0)
+    }
+
+    /** Depth of the nested calls, only the outermost operation is counted */
+    private var depth = 0
+
+    private inline fun <T> record(
+        op: DrawOp,
+        block: () -> T,
+    ): T {
+        if (depth++ == 0) {
+            counts[op.ordinal]++
+        }
+        try {
+            return block()
+        } finally {
+            depth--
+        }
+    }
+
+    override fun onDrawableDraw(drawable: Drawable) {
+        counts[DrawOp.DRAWABLE.ordinal]++
+    }
+
+    override fun drawRoundRect(
+        rect: RectF,
+        rx: Float,
+        ry: Float,
+        paint: Paint,
+    ) {
+        record(DrawOp.ROUND_RECT) { super.drawRoundRect(rect, rx, ry, paint) }
+    }
+
+    @RequiresApi(LOLLIPOP)
+    override fun drawRoundRect(
+        left: Float,
+        top: Float,
+        right: Float,
+        bottom: Float,
+        rx: Float,
+        ry: Float,
+        paint: Paint,
+    ) {
+        record(DrawOp.ROUND_RECT) { super.drawRoundRect(left, top, right, bottom, rx, ry, paint) }
+    }
+
+    override fun drawRect(
+        rect: RectF,
+        paint: Paint,
+    ) {
+        record(DrawOp.RECT) { super.drawRect(rect, paint) }
+    }
+
+    override fun drawRect(
+        r: Rect,
+        paint: Paint,
+    ) {
+        record(DrawOp.RECT) { super.drawRect(r, paint) }
+    }
+
+    override fun drawRect(
+        left: Float,
+        top: Float,
+        right: Float,
+        bottom: Float,
+        paint: Paint,
+    ) {
+        record(DrawOp.RECT) { super.drawRect(left, top, right, bottom, paint) }
+    }
+
+    override fun drawText(
+        text: CharArray,
+        index: Int,
+        count: Int,
+        x: Float,
+        y: Float,
+        paint: Paint,
+    ) {
+        record(DrawOp.TEXT) { super.drawText(text, index, count, x, y, paint) }
+    }
+
+    override fun drawText(
+        text: String,
+        x: Float,
+        y: Float,
+        paint: Paint,
+    ) {
+        record(DrawOp.TEXT) { super.drawText(text, x, y, paint) }
+    }
+
+    override fun drawText(
+        text: String,
+        start: Int,
+        end: Int,
+        x: Float,
+        y: Float,
+        paint: Paint,
+    ) {
+        record(DrawOp.TEXT) { super.drawText(text, start, end, x, y, paint) }
+    }
+
+    override fun drawText(
+        text: CharSequence,
+        start: Int,
+        end: Int,
+        x: Float,
+        y: Float,
+        paint: Paint,
+    ) {
+        record(DrawOp.TEXT) { super.drawText(text, start, end, x, y, paint) }
+    }
+
+    @RequiresApi(M)
+    override fun drawTextRun(
+        text: CharArray,
+        index: Int,
+        count: Int,
+        contextIndex: Int,
+        contextCount: Int,
+        x: Float,
+        y: Float,
+        isRtl: Boolean,
+        paint: Paint,
+    ) {
+        record(DrawOp.TEXT) {
+            super.drawTextRun(text, index, count, contextIndex, contextCount, x, y, isRtl, paint)
+        }
+    }
+
+    @RequiresApi(M)
+    override fun drawTextRun(
+        text: CharSequence,
+        start: Int,
+        end: Int,
+        contextStart: Int,
+        contextEnd: Int,
+        x: Float,
+        y: Float,
+        isRtl: Boolean,
+        paint: Paint,
+    ) {
+        record(DrawOp.TEXT) {
+            super.drawTextRun(text, start, end, contextStart, contextEnd, x, y, isRtl, paint)
+        }
+    }
+
+    override fun drawBitmap(
+        bitmap: Bitmap,
+        left: Float,
+        top: Float,
+        paint: Paint?,
+    ) {
+        record(DrawOp.BITMAP) { super.drawBitmap(bitmap, left, top, paint) }
+    }
+
+    override fun drawBitmap(
+        bitmap: Bitmap,
+        src: Rect?,
+        dst: RectF,
+        paint: Paint?,
+    ) {
+        record(DrawOp.BITMAP) { super.drawBitmap(bitmap, src, dst, paint) }
+    }
+
+    override fun drawBitmap(
+        bitmap: Bitmap,
+        src: Rect?,
+        dst: Rect,
+        paint: Paint?,
+    ) {
+        record(DrawOp.BITMAP) { super.drawBitmap(bitmap, src, dst, paint) }
+    }
+
+    override fun drawBitmap(
+        bitmap: Bitmap,
+        matrix: Matrix,
+        paint: Paint?,
+    ) {
+        record(DrawOp.BITMAP) { super.drawBitmap(bitmap, matrix, paint) }
+    }
+
+    override fun drawPath(
+        path: Path,
+        paint: Paint,
+    ) {
+        record(DrawOp.PATH) { super.drawPath(path, paint) }
+    }
+
+    override fun save(): Int = record(DrawOp.SAVE) { super.save() }
+
+    override fun saveLayer(
+        bounds: RectF?,
+        paint: Paint?,
+    ): Int = record(DrawOp.SAVE) { super.saveLayer(bounds, paint) }
+
+    override fun saveLayerAlpha(
+        bounds: RectF?,
+        alpha: Int,
+    ): Int = record(DrawOp.SAVE) { super.saveLayerAlpha(bounds, alpha) }
+
+    override fun restore() {
+        record(DrawOp.RESTORE) { super.restore() }
+    }
+
+    override fun restoreToCount(saveCount: Int) {
+        if (depth == 0) {
+            // The first save state can't be restored, as with a regular canvas.
+            counts[DrawOp.RESTORE.ordinal] += max(getSaveCount() - max(saveCount, 1), 0)
+        }
+        super.restoreToCount(saveCount)
+    }
+
+    override fun translate(
+        dx: Float,
+        dy: Float,
+    ) {
+        record(DrawOp.MATRIX) { super.translate(dx, dy) }
+    }
+
+    override fun scale(
+        sx: Float,
+        sy: Float,
+    ) {
+        record(DrawOp.MATRIX) { super.scale(sx, sy) }
+    }
+
+    override fun rotate(degrees: Float) {
+        record(DrawOp.MATRIX) { super.rotate(degrees) }
+    }
+
+    override fun skew(
+        sx: Float,
+        sy: Float,
+    ) {
+        record(DrawOp.MATRIX) { super.skew(sx, sy) }
+    }
+
+    override fun concat(matrix: Matrix?) {
+        record(DrawOp.MATRIX) { super.concat(matrix) }
+    }
+
+    override fun setMatrix(matrix: Matrix?) {
+        record(DrawOp.MATRIX) { super.setMatrix(matrix) }
+    }
+
+    override fun clipRect(rect: RectF): Boolean = record(DrawOp.CLIP) { super.clipRect(rect) }
+
+    override fun clipRect(rect: Rect): Boolean = record(DrawOp.CLIP) { super.clipRect(rect) }
+
+    override fun clipRect(
+        left: Float,
+        top: Float,
+        right: Float,
+        bottom: Float,
+    ): Boolean = record(DrawOp.CLIP) { super.clipRect(left, top, right, bottom) }
+
+    override fun clipRect(
+        left: Int,
+        top: Int,
+        right: Int,
+        bottom: Int,
+    ): Boolean = record(DrawOp.CLIP) { super.clipRect(left, top, right, bottom) }
+
+    override fun clipPath(path: Path): Boolean = record(DrawOp.CLIP) { super.clipPath(path) }
+}
@@ -0,0 +1,25 @@
+package com.ncorti.slidetoact.testing
+
+/**
+ * Immutable number of operations, per [DrawOp], issued while drawing a frame.
+ */
+class DrawOpCounts internal constructor(
+    private val counts: IntArray,
+) {
+    /** Number of operations of the given kind */
+    operator fun get(op: DrawOp): Int = counts[op.ordinal]
+
+    /** Number of operations of every kind */
+    val total: Int
+        get() = counts.sum()
+
+    override fun equals(other: Any?): Boolean =
+        other is DrawOpCounts && counts.contentEquals(other.counts)
+
+    override fun hashCode(): Int = counts.contentHashCode()
+
+    override fun toString(): String =
+        DrawOp.values()
+            .filter { counts[it.ordinal] > 0 }
+            .joinToString(prefix = "DrawOpCounts(", postfix = ")") { "$it=${counts[it.ordinal]}" }
+}
@@ -0,0 +1,39 @@
+package com.ncorti.slidetoact.testing
+
+import android.graphics.Bitmap
+import android.view.View
+import com.ncorti.slidetoact.SlideToActView
+
+/**
+ * Draws a single frame of a view on a [DrawOpCountingCanvas] and returns the operations issued.
+ *
+ * ```
+ * val counts = SlideToActDrawRecorder.record(slider)
+ * assertEquals(2, counts[DrawOp.ROUND_RECT])
+ * ```
+ */
+object SlideToActDrawRecorder {
+    /**
+     * Records a frame of [view]. If the view was never laid out, it is measured at its
+     * desired size first. Drawables are counted only with a debug build of the library.
+     */
+    @JvmStatic
+    fun record(view: View): DrawOpCounts {
+        if (view.width == 0 || view.height == 0) {
+            val unspecified = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED)
+            view.measure(unspecified, unspecified)
+            view.layout(0, 0, view.measuredWidth, view.measuredHeight)
+        }
+        val bitmap = Bitmap.createBitmap(view.width, view.height, Bitmap.Config.ARGB_8888)
+        val slider = view as? SlideToActView
+        try {
+            val canvas = DrawOpCountingCanvas(bitmap)
+            slider?.drawTracer = canvas
+            view.draw(canvas)
+            return canvas.counts()
+        } finally {
+            slider?.drawTracer = null
+            bitmap.recycle()
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.ncorti.slidetoact.testing
+
+import android.graphics.Color
+import android.os.Looper
+import android.os.SystemClock
+import android.view.ContextThemeWrapper
+import android.view.MotionEvent
+import android.view.View
+import android.widget.FrameLayout
+import androidx.test.core.app.ApplicationProvider
+import com.ncorti.slidetoact.SlideToActView
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import java.time.Duration
+
+@RunWith(RobolectricTestRunner::class)
+class SlideToActDrawBudgetTest {
+    private lateinit var slider: SlideToActView
+
+    @Before
+    fun setUp() {
+        val context =
+            ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                androidx.appcompat.R.style.Theme_AppCompat_Light,
+            )
+        slider = SlideToActView(context)
+        // The slider needs a parent to handle touch events.
+        FrameLayout(context).apply {
+            addView(slider, FrameLayout.LayoutParams(WIDTH, HEIGHT))
+            measure(exactly(WIDTH), exactly(HEIGHT))
+            layout(0, 0, WIDTH, HEIGHT)
+        }
+    }
+
+    @Test
+    fun baseState_isWithinBudget() {
+        val counts = SlideToActDrawRecorder.record(slider)
+
+        assertEquals(2, counts[DrawOp.ROUND_RECT])
+        assertEquals(1, counts[DrawOp.TEXT])
+        assertEquals(1, counts[DrawOp.DRAWABLE])
+        // The label is translated to its position, the arrow is not rotated at the start.
+        assertEquals(2, counts[DrawOp.MATRIX])
+        assertBalanced(counts)
+    }
+
+    @Test
+    fun draggingState_isWithinBudget() {
+        touch(MotionEvent.ACTION_DOWN, HEIGHT / 2f)
+        touch(MotionEvent.ACTION_MOVE, WIDTH / 2f)
+
+        val counts = SlideToActDrawRecorder.record(slider)
+
+        assertEquals(2, counts[DrawOp.ROUND_RECT])
+        assertEquals(1, counts[DrawOp.TEXT])
+        assertEquals(1, counts[DrawOp.DRAWABLE])
+        assertBudget(counts, DrawOp.MATRIX, 5)
+        assertBalanced(counts)
+    }
+
+    @Test
+    fun draggingStateWithFill_isWithinBudget() {
+        slider.fillColor = Color.BLUE
+        touch(MotionEvent.ACTION_DOWN, HEIGHT / 2f)
+        touch(MotionEvent.ACTION_MOVE, WIDTH / 2f)
+
+        val counts = SlideToActDrawRecorder.record(slider)
+
+        // The fill is a single clipped round rect, on top of the track and the cursor.
+        assertEquals(3, counts[DrawOp.ROUND_RECT])
+        assertEquals(1, counts[DrawOp.CLIP])
+        assertEquals(0, counts[DrawOp.PATH])
+        assertBudget(counts, DrawOp.MATRIX, 5)
+        assertBalanced(counts, saveBudget = 2)
+    }
+
+    @Test
+    fun completingState_isWithinBudget() {
+        slider.setCompleted(completed = true, withAnimation = true)
+        // Halfway through the complete animation, while the cursor collapses.
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(450))
+
+        val counts = SlideToActDrawRecorder.record(slider)
+
+        assertEquals(2, counts[DrawOp.ROUND_RECT])
+        assertBudget(counts, DrawOp.TEXT, 1)
+        assertBudget(counts, DrawOp.DRAWABLE, 2)
+        assertBudget(counts, DrawOp.MATRIX, 5)
+        assertBalanced(counts)
+    }
+
+    @Test
+    fun completedState_isWithinBudget() {
+        slider.setCompleted(completed = true, withAnimation = false)
+
+        val counts = SlideToActDrawRecorder.record(slider)
+
+        assertEquals(2, counts[DrawOp.ROUND_RECT])
+        assertBudget(counts, DrawOp.TEXT, 1)
+        // The tick is drawn, the collapsed arrow may be skipped.
+        assertTrue(counts[DrawOp.DRAWABLE] in 1..2)
+        assertBudget(counts, DrawOp.MATRIX, 5)
+        assertBalanced(counts)
+    }
+
+    private fun touch(
+        action: Int,
+        x: Float,
+    ) {
+        val time = SystemClock.uptimeMillis()
+        val event = MotionEvent.obtain(time, time, action, x, HEIGHT / 2f, 0)
+        slider.dispatchTouchEvent(event)
+        event.recycle()
+    }
+
+    private fun assertBudget(
+        counts: DrawOpCounts,
+        op: DrawOp,
+        budget: Int,
+    ) {
+        assertTrue("$op over budget $budget: $counts", counts[op] <= budget)
+    }
+
+    private fun assertBalanced(
+        counts: DrawOpCounts,
+        saveBudget: Int = 1,
+    ) {
+        assertEquals("Unbalanced: $counts", counts[DrawOp.SAVE], counts[DrawOp.RESTORE])
+        assertBudget(counts, DrawOp.SAVE, saveBudget)
+    }
+
+    private fun exactly(size: Int) =
+        View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY)
+
+    private companion object {
+        const val WIDTH = 840
+        const val HEIGHT = 216
+    }
+}
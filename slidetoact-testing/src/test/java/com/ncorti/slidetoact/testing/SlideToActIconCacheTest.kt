@@ -0,0 +1,50 @@
+package com.ncorti.slidetoact.testing
+
+import android.content.Context
+import android.view.ContextThemeWrapper
+import androidx.test.core.app.ApplicationProvider
+import com.ncorti.slidetoact.SlideToActIconCache
+import com.ncorti.slidetoact.SlideToActView
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class SlideToActIconCacheTest {
+    @Before
+    fun setUp() {
+        SlideToActIconCache.clear()
+    }
+
+    @Test
+    fun slidersWithTheSameTheme_shareTheIcon() {
+        val context = themed(androidx.appcompat.R.style.Theme_AppCompat_Light)
+        val misses = SlideToActIconCache.missCount
+        val hits = SlideToActIconCache.hitCount
+
+        SlideToActView(context)
+        SlideToActView(context)
+
+        // The arrow is parsed by the first slider only, the second one reuses its state.
+        assertEquals(misses + 1, SlideToActIconCache.missCount)
+        assertEquals(hits + 1, SlideToActIconCache.hitCount)
+    }
+
+    @Test
+    fun sliderWithAnotherTheme_missesTheCache() {
+        SlideToActView(themed(androidx.appcompat.R.style.Theme_AppCompat_Light))
+        val misses = SlideToActIconCache.missCount
+        val hits = SlideToActIconCache.hitCount
+
+        SlideToActView(themed(androidx.appcompat.R.style.Theme_AppCompat))
+
+        // Icons can resolve theme attributes, so they are never shared across themes.
+        assertEquals(misses + 1, SlideToActIconCache.missCount)
+        assertEquals(hits, SlideToActIconCache.hitCount)
+    }
+
+    private fun themed(theme: Int): Context =
+        ContextThemeWrapper(ApplicationProvider.getApplicationContext(), theme)
+}
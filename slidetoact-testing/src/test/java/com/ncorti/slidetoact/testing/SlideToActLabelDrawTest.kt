@@ -0,0 +1,168 @@
+package com.ncorti.slidetoact.testing
+
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Paint
+import android.os.Build.VERSION_CODES.M
+import android.view.ContextThemeWrapper
+import android.view.View
+import android.widget.FrameLayout
+import androidx.annotation.RequiresApi
+import androidx.test.core.app.ApplicationProvider
+import com.ncorti.slidetoact.SlideToActView
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class SlideToActLabelDrawTest {
+    private lateinit var slider: SlideToActView
+
+    @Before
+    fun setUp() {
+        val context =
+            ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                androidx.appcompat.R.style.Theme_AppCompat_Light,
+            )
+        slider = SlideToActView(context)
+        slider.text = "Slide to act"
+        FrameLayout(context).apply {
+            addView(slider, FrameLayout.LayoutParams(WIDTH, HEIGHT))
+            measure(exactly(WIDTH), exactly(HEIGHT))
+            layout(0, 0, WIDTH, HEIGHT)
+        }
+    }
+
+    @Test
+    fun label_isCenteredInTheSlider() {
+        val texts = record()
+
+        // The layout centers the line, the paint must not shift it again.
+        assertEquals(1, texts.size)
+        val (left, right) = texts.single()
+        assertEquals(WIDTH / 2f, (left + right) / 2f, 1f)
+    }
+
+    /** Draws a frame and returns the horizontal span of every text drawn, in view coordinates */
+    private fun record(): List<Pair<Float, Float>> {
+        val bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888)
+        try {
+            val canvas = TextSpanCanvas(bitmap)
+            slider.draw(canvas)
+            return canvas.spans
+        } finally {
+            bitmap.recycle()
+        }
+    }
+
+    private fun exactly(size: Int) =
+        View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY)
+
+    /** Canvas that records where text lands, following the translations of the canvas */
+    private class TextSpanCanvas(
+        bitmap: Bitmap,
+    ) : Canvas(bitmap) {
+        val spans = mutableListOf<Pair<Float, Float>>()
+
+        private var dx = 0f
+        private val saved = ArrayList<Float>()
+
+        private fun record(
+            text: CharSequence,
+            start: Int,
+            end: Int,
+            x: Float,
+            paint: Paint,
+        ) {
+            val width = paint.measureText(text, start, end)
+            val left =
+                when (paint.textAlign) {
+                    Paint.Align.CENTER -> x - width / 2f
+                    Paint.Align.RIGHT -> x - width
+                    else -> x
+                }
+            spans += (dx + left) to (dx + left + width)
+        }
+
+        override fun drawText(
+            text: CharSequence,
+            start: Int,
+            end: Int,
+            x: Float,
+            y: Float,
+            paint: Paint,
+        ) {
+            record(text, start, end, x, paint)
+        }
+
+        override fun drawText(
+            text: CharArray,
+            index: Int,
+            count: Int,
+            x: Float,
+            y: Float,
+            paint: Paint,
+        ) {
+            record(String(text, index, count), 0, count, x, paint)
+        }
+
+        override fun drawText(
+            text: String,
+            start: Int,
+            end: Int,
+            x: Float,
+            y: Float,
+            paint: Paint,
+        ) {
+            record(text, start, end, x, paint)
+        }
+
+        @RequiresApi(M)
+        override fun drawTextRun(
+            text: CharSequence,
+            start: Int,
+            end: Int,
+            contextStart: Int,
+            contextEnd: Int,
+            x: Float,
+            y: Float,
+            isRtl: Boolean,
+            paint: Paint,
+        ) {
+            record(text, start, end, x, paint)
+        }
+
+        override fun translate(
+            dx: Float,
+            dy: Float,
+        ) {
+            this.dx += dx
+            super.translate(dx, dy)
+        }
+
+        override fun save(): Int {
+            saved += dx
+            return super.save()
+        }
+
+        override fun restore() {
+            dx = saved.removeAt(saved.size - 1)
+            super.restore()
+        }
+
+        override fun restoreToCount(saveCount: Int) {
+            while (saved.size >= saveCount) {
+                dx = saved.removeAt(saved.size - 1)
+            }
+            super.restoreToCount(saveCount)
+        }
+    }
+
+    private companion object {
+        const val WIDTH = 840
+        const val HEIGHT = 216
+    }
+}
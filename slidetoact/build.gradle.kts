@@ -20,6 +20,10 @@ android {
     lint {
         abortOnError = true
     }
+    buildFeatures {
+        // BuildConfig.DEBUG keeps the draw tracer out of release builds.
+        buildConfig = true
+    }
 
     publishing {
         singleVariant("release") {
@@ -39,7 +43,14 @@ android {
 }
 
 dependencies {
+    api(project(":slidetoact-core"))
     implementation("androidx.appcompat:appcompat:1.6.1")
+    api("org.jetbrains.kotlinx:kotlinx-coroutines-core:1.10.2")
+    implementation("org.jetbrains.kotlinx:kotlinx-coroutines-android:1.10.2")
+    api("com.google.guava:listenablefuture:1.0")
+
+    testImplementation("junit:junit:4.13.2")
+    testImplementation("org.robolectric:robolectric:4.15.1")
 }
 
 publishing {
@@ -0,0 +1,16 @@
+package com.ncorti.slidetoact
+
+import android.graphics.drawable.Drawable
+import androidx.annotation.RestrictTo
+
+/**
+ * Implemented by the canvases of the `slidetoact-testing` artifact, to count the drawables drawn
+ * by the [SlideToActView]. Vector drawables are rendered natively, so the canvas would not see
+ * them otherwise. It's set on [SlideToActView.drawTracer] and only debug builds of the library
+ * notify it, release builds don't check for it while drawing.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+interface SlideToActDrawTracer {
+    /** Called right before [drawable] is drawn on this canvas */
+    fun onDrawableDraw(drawable: Drawable)
+}
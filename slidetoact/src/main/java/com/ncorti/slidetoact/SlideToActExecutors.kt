@@ -0,0 +1,65 @@
+package com.ncorti.slidetoact
+
+import android.util.Log
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * Background threads shared by every [SlideToActView]. Work that would block the UI thread,
+ * like inflating icons or measuring text, runs here.
+ */
+internal object SlideToActExecutors {
+    private const val TAG = "SlideToActBackground"
+
+    /** Cached pool of daemon threads, idle threads are released after a while */
+    val background: ExecutorService by lazy {
+        Executors.newCachedThreadPool { runnable ->
+            Thread(runnable, TAG).apply { isDaemon = true }
+        }
+    }
+
+    /** Runs tasks one at a time and in order on the [background] pool, e.g. vibrations */
+    val serial: Executor by lazy { SerialExecutor(background) }
+
+    /**
+     * Queues the tasks and drains them from a single runnable, so at most one pooled thread
+     * is busy and no wrapper is allocated per task.
+     */
+    private class SerialExecutor(
+        private val executor: Executor,
+    ) : Executor {
+        private val tasks = ArrayDeque<Runnable>()
+        private var isDraining = false
+
+        private val drain =
+            Runnable {
+                var task = next()
+                while (task != null) {
+                    try {
+                        task.run()
+                    } catch (e: RuntimeException) {
+                        Log.e(TAG, "A background task failed", e)
+                    }
+                    task = next()
+                }
+            }
+
+        override fun execute(command: Runnable) {
+            synchronized(this) {
+                tasks.addLast(command)
+                if (isDraining) {
+                    return
+                }
+                isDraining = true
+            }
+            executor.execute(drain)
+        }
+
+        /** Returns the next task, or stops draining if there is none */
+        private fun next(): Runnable? =
+            synchronized(this) {
+                tasks.removeFirstOrNull().also { isDraining = it != null }
+            }
+    }
+}
@@ -0,0 +1,159 @@
+package com.ncorti.slidetoact
+
+import android.Manifest
+import android.annotation.SuppressLint
+import android.content.Context
+import android.content.pm.PackageManager
+import android.os.Build.VERSION.SDK_INT
+import android.os.Build.VERSION_CODES.O
+import android.os.Build.VERSION_CODES.Q
+import android.os.Build.VERSION_CODES.S
+import android.os.VibrationEffect
+import android.os.Vibrator
+import android.os.VibratorManager
+import android.util.Log
+import androidx.core.content.ContextCompat
+
+/**
+ * Haptic feedback of the [SlideToActView].
+ *
+ * The permission and the [Vibrator] are resolved once, effects are built when the durations
+ * change, and every vibration is dispatched in order on [SlideToActExecutors.serial], so the
+ * binder calls never run on the UI thread during a drag.
+ */
+@SuppressLint("MissingPermission")
+internal class SlideToActHaptics(context: Context) {
+    companion object {
+        /** Duration of a detent tick on devices without predefined effects */
+        private const val TICK_DURATION_MS = 10L
+    }
+
+    private val appContext = context.applicationContext ?: context
+
+    /** Resolved on the background thread by the first vibration */
+    private var vibrator: Vibrator? = null
+    private var isResolved = false
+
+    @Volatile
+    private var bumpEffect: Any? = null
+
+    @Volatile
+    private var tickEffect: Any? = null
+
+    private var lastDetent = 0
+
+    /** Duration of vibration after bumping to the end point, 0 disables it */
+    @Volatile
+    var bumpDuration: Long = 0L
+        set(value) {
+            field = value
+            bumpEffect =
+                if (SDK_INT >= O && value > 0) {
+                    VibrationEffect.createOneShot(value, VibrationEffect.DEFAULT_AMPLITUDE)
+                } else {
+                    null
+                }
+        }
+
+    /** Number of detents along the track, a tick is played when the cursor crosses one */
+    var detents: Int = 0
+        set(value) {
+            field = value.coerceAtLeast(0)
+            tickEffect =
+                when {
+                    field == 0 -> null
+                    SDK_INT >= Q -> VibrationEffect.createPredefined(VibrationEffect.EFFECT_TICK)
+                    SDK_INT >= O ->
+                        VibrationEffect.createOneShot(
+                            TICK_DURATION_MS,
+                            VibrationEffect.DEFAULT_AMPLITUDE,
+                        )
+                    else -> null
+                }
+        }
+
+    private val bumpRunnable =
+        Runnable {
+            val vibrator = resolveVibrator() ?: return@Runnable
+            if (SDK_INT >= O) {
+                (bumpEffect as? VibrationEffect)?.let { vibrator.vibrate(it) }
+            } else {
+                @Suppress("DEPRECATION")
+                vibrator.vibrate(bumpDuration)
+            }
+        }
+
+    private val tickRunnable =
+        Runnable {
+            val vibrator = resolveVibrator() ?: return@Runnable
+            if (SDK_INT >= O) {
+                (tickEffect as? VibrationEffect)?.let { vibrator.vibrate(it) }
+            } else {
+                @Suppress("DEPRECATION")
+                vibrator.vibrate(TICK_DURATION_MS)
+            }
+        }
+
+    /** Vibrates because the cursor bumped to the end point */
+    fun bump() {
+        if (bumpDuration > 0) {
+            SlideToActExecutors.serial.execute(bumpRunnable)
+        }
+    }
+
+    /**
+     * Called when the cursor is grabbed, detents are counted from this position.
+     * @param positionPerc The cursor position (in percentage [0f,1f])
+     */
+    fun onGestureStart(positionPerc: Float) {
+        lastDetent = detentAt(positionPerc)
+    }
+
+    /**
+     * Called when the cursor moves, plays a tick if a detent was crossed.
+     * @param positionPerc The cursor position (in percentage [0f,1f])
+     */
+    fun onPositionChanged(positionPerc: Float) {
+        if (detents == 0) {
+            return
+        }
+        val detent = detentAt(positionPerc)
+        if (detent != lastDetent) {
+            lastDetent = detent
+            SlideToActExecutors.serial.execute(tickRunnable)
+        }
+    }
+
+    /** Detents are evenly spaced, excluding the start and the end of the track */
+    private fun detentAt(positionPerc: Float): Int =
+        (positionPerc * (detents + 1)).toInt().coerceIn(0, detents)
+
+    private fun resolveVibrator(): Vibrator? {
+        if (isResolved) {
+            return vibrator
+        }
+        isResolved = true
+        if (ContextCompat.checkSelfPermission(appContext, Manifest.permission.VIBRATE) !=
+            PackageManager.PERMISSION_GRANTED
+        ) {
+            Log.w(
+                SlideToActView.TAG,
+                "bumpVibration or hapticDetents is set but permissions are unavailable. " +
+                    "You must have the permission android.permission.VIBRATE in " +
+                    "AndroidManifest.xml to use bumpVibration or hapticDetents",
+            )
+            return null
+        }
+        val resolved =
+            if (SDK_INT >= S) {
+                val vibratorManager =
+                    appContext.getSystemService(Context.VIBRATOR_MANAGER_SERVICE) as VibratorManager
+                vibratorManager.defaultVibrator
+            } else {
+                @Suppress("DEPRECATION")
+                appContext.getSystemService(Context.VIBRATOR_SERVICE) as Vibrator
+            }
+        vibrator = resolved.takeIf { it.hasVibrator() }
+        return vibrator
+    }
+}
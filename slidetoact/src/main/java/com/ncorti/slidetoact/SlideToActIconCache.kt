@@ -0,0 +1,94 @@
+package com.ncorti.slidetoact
+
+import android.content.Context
+import android.content.res.Resources
+import android.graphics.drawable.Drawable
+import android.os.Build.VERSION.SDK_INT
+import android.os.Build.VERSION_CODES.LOLLIPOP
+import androidx.annotation.DrawableRes
+import androidx.collection.LruCache
+import java.lang.ref.WeakReference
+
+/**
+ * Process-wide cache of the icons used by every [SlideToActView].
+ *
+ * Icons are cached as [Drawable.ConstantState] keyed by (resource ID, theme), so sliders using
+ * the same icon share the parsed vector instead of inflating the XML again. Every slider gets
+ * its own [Drawable] instance from the shared state and calls [Drawable.mutate] only to
+ * apply its own tint. Least recently used entries are evicted when the cache is full.
+ *
+ * Themes are weakly held, so a cached icon never keeps an Activity alive. The entries of a
+ * collected theme can't be hit anymore, they are evicted as the least recently used ones.
+ */
+object SlideToActIconCache {
+    private const val DEFAULT_MAX_SIZE = 16
+
+    private class Key(
+        @DrawableRes val resId: Int,
+        theme: Resources.Theme,
+    ) {
+        private val theme = WeakReference(theme)
+        private val hash = 31 * resId + System.identityHashCode(theme)
+
+        override fun equals(other: Any?): Boolean {
+            if (other === this) {
+                return true
+            }
+            if (other !is Key || other.resId != resId || other.hash != hash) {
+                return false
+            }
+            // Themes are compared by identity, a collected theme matches no other key.
+            val theme = theme.get()
+            return theme != null && theme === other.theme.get()
+        }
+
+        override fun hashCode(): Int = hash
+    }
+
+    private val cache = LruCache<Key, Drawable.ConstantState>(DEFAULT_MAX_SIZE)
+
+    /** Number of icons served from the cache */
+    val hitCount: Int
+        get() = cache.hitCount()
+
+    /** Number of icons that had to be inflated */
+    val missCount: Int
+        get() = cache.missCount()
+
+    /** Number of icons evicted from the cache */
+    val evictionCount: Int
+        get() = cache.evictionCount()
+
+    /** Max number of icons kept in the cache */
+    var maxSize: Int
+        get() = cache.maxSize()
+        set(value) = cache.resize(value)
+
+    /** Removes all the icons from the cache. */
+    fun clear() {
+        cache.evictAll()
+    }
+
+    /**
+     * Returns a new [Drawable] for [resId], sharing its constant state with the other sliders.
+     * If the icon is not cached yet, it is loaded with [loader].
+     */
+    internal fun getDrawable(
+        context: Context,
+        @DrawableRes resId: Int,
+        loader: (Context, Int) -> Drawable?,
+    ): Drawable? {
+        val key = Key(resId, context.theme)
+        cache.get(key)?.let {
+            return if (SDK_INT >= LOLLIPOP) {
+                it.newDrawable(context.resources, context.theme)
+            } else {
+                it.newDrawable(context.resources)
+            }
+        }
+        val drawable = loader(context, resId) ?: return null
+        // Drawables without a constant state (e.g. AVD compat on old APIs) can't be shared.
+        drawable.constantState?.let { cache.put(key, it) }
+        return drawable
+    }
+}
@@ -1,6 +1,5 @@
 package com.ncorti.slidetoact
 
-import android.animation.ValueAnimator
 import android.annotation.SuppressLint
 import android.content.Context
 import android.graphics.drawable.AnimatedVectorDrawable
@@ -65,36 +64,21 @@ internal object SlideToActIconUtil {
     }
 
     /**
-     * Creates a [ValueAnimator] to animate the complete icon. Uses the [fallbackToFadeAnimation]
+     * Advances the animation of the complete icon to [fraction]. Uses the [fallbackToFadeAnimation]
      * to decide if the icon should be animated with a Fade or with using [AnimatedVectorDrawable].
+     * The [AnimatedVectorDrawable] is started on the first frame of the animation.
      */
-    fun createIconAnimator(
-        view: SlideToActView,
+    fun updateIconAnimation(
         icon: Drawable,
-        listener: ValueAnimator.AnimatorUpdateListener,
-    ): ValueAnimator {
+        fraction: Float,
+        isFirstFrame: Boolean,
+    ) {
         if (fallbackToFadeAnimation(icon)) {
             // Fallback not using AVD.
-            val tickAnimator = ValueAnimator.ofInt(0, 255)
-            tickAnimator.addUpdateListener(listener)
-            tickAnimator.addUpdateListener {
-                icon.alpha = it.animatedValue as Int
-                view.invalidate()
-            }
-            return tickAnimator
-        } else {
+            icon.alpha = (255 * fraction).toInt()
+        } else if (isFirstFrame) {
             // Used AVD Animation.
-            val tickAnimator = ValueAnimator.ofInt(0)
-            var startedOnce = false
-            tickAnimator.addUpdateListener(listener)
-            tickAnimator.addUpdateListener {
-                if (!startedOnce) {
-                    startIconAnimation(icon)
-                    view.invalidate()
-                    startedOnce = true
-                }
-            }
-            return tickAnimator
+            startIconAnimation(icon)
         }
     }
 
@@ -0,0 +1,130 @@
+package com.ncorti.slidetoact
+
+import android.os.Build.VERSION.SDK_INT
+import android.os.Build.VERSION_CODES.M
+import android.os.Build.VERSION_CODES.P
+import android.text.Layout
+import android.text.PrecomputedText
+import android.text.StaticLayout
+import android.text.TextDirectionHeuristics
+import android.text.TextPaint
+import android.text.TextUtils
+import android.view.View
+import androidx.annotation.RequiresApi
+
+/**
+ * Layout of the label of the [SlideToActView], centered and ellipsized in the room it's given.
+ *
+ * The [StaticLayout] is built only when the text, the paint or the width change. On API 28+
+ * a new text is measured with [PrecomputedText] on a background thread: the previous layout
+ * is kept until the new one is swapped in, so setting a long text never blocks a frame.
+ * [onChanged] is called on the UI thread every time [layout] changes.
+ *
+ * The layout is built with the same break strategy, hyphenation frequency and text direction
+ * as the [PrecomputedText], otherwise [StaticLayout] would measure the text again.
+ */
+internal class SlideToActLabel(
+    private val view: View,
+    private val paint: TextPaint,
+    private val onChanged: () -> Unit,
+) {
+    /** Layout of the label, null until the label has some room */
+    var layout: Layout? = null
+        private set
+
+    /** Max number of lines, the last one is ellipsized. Labels fit a single line before API 23 */
+    var maxLines: Int = 1
+        set(value) {
+            if (field != value.coerceAtLeast(1)) {
+                field = value.coerceAtLeast(1)
+                relayout()
+            }
+        }
+
+    /** Text of the label, replaced by its [PrecomputedText] once it's measured */
+    var text: CharSequence = ""
+        private set
+
+    private var width = 0
+
+    /** Incremented on every new text, so a stale precomputed text is dropped */
+    private var generation = 0
+
+    /**
+     * Sets the text of the label. It must be called again when the [paint] changes, so the
+     * text is measured again.
+     */
+    fun setText(text: CharSequence) {
+        this.text = text
+        val requested = ++generation
+        if (SDK_INT >= P && layout != null && text.isNotEmpty()) {
+            // Params copy the paint, so it can be changed on the UI thread in the meantime.
+            val params = textMetricsParams()
+            SlideToActExecutors.background.execute {
+                val precomputed = PrecomputedText.create(text, params)
+                view.post {
+                    if (requested == generation) {
+                        this.text = precomputed
+                        relayout()
+                    }
+                }
+            }
+        } else {
+            relayout()
+        }
+    }
+
+    /** Sets the width available to the label, the layout is rebuilt only if it changed. */
+    fun setWidth(width: Int) {
+        if (this.width != width) {
+            this.width = width
+            relayout()
+        }
+    }
+
+    /** Params the text is precomputed with, they match the ones of the built layout */
+    @RequiresApi(P)
+    internal fun textMetricsParams(): PrecomputedText.Params =
+        PrecomputedText.Params
+            .Builder(paint)
+            .setTextDirection(TEXT_DIRECTION)
+            .setBreakStrategy(BREAK_STRATEGY)
+            .setHyphenationFrequency(HYPHENATION_FREQUENCY)
+            .build()
+
+    private fun relayout() {
+        layout = if (width > 0) build(text, width) else null
+        onChanged()
+    }
+
+    private fun build(
+        text: CharSequence,
+        width: Int,
+    ): Layout =
+        if (SDK_INT >= M) {
+            StaticLayout.Builder
+                .obtain(text, 0, text.length, paint, width)
+                .setAlignment(Layout.Alignment.ALIGN_CENTER)
+                .setTextDirection(TEXT_DIRECTION)
+                .setBreakStrategy(BREAK_STRATEGY)
+                .setHyphenationFrequency(HYPHENATION_FREQUENCY)
+                .setIncludePad(false)
+                .setEllipsize(TextUtils.TruncateAt.END)
+                .setMaxLines(maxLines)
+                .build()
+        } else {
+            // The line count can't be limited, so the text is ellipsized to a single line.
+            val ellipsized =
+                TextUtils.ellipsize(text, paint, width.toFloat(), TextUtils.TruncateAt.END)
+            @Suppress("DEPRECATION")
+            StaticLayout(ellipsized, paint, width, Layout.Alignment.ALIGN_CENTER, 1f, 0f, false)
+        }
+
+    private companion object {
+        val TEXT_DIRECTION = TextDirectionHeuristics.FIRSTSTRONG_LTR
+
+        /** Labels are short, the greedy line breaking is enough and it's the cheapest */
+        const val BREAK_STRATEGY = Layout.BREAK_STRATEGY_SIMPLE
+        const val HYPHENATION_FREQUENCY = Layout.HYPHENATION_FREQUENCY_NONE
+    }
+}
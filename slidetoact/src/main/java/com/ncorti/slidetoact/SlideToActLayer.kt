@@ -0,0 +1,155 @@
+package com.ncorti.slidetoact
+
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Paint
+import android.graphics.Rect
+import android.graphics.RenderNode
+import android.os.Build.VERSION.SDK_INT
+import android.os.Build.VERSION_CODES.Q
+import androidx.annotation.RequiresApi
+
+/**
+ * Cached drawing layer used by the [SlideToActView] for the static parts of the slider.
+ *
+ * The content is recorded once through a [Recorder] and drawn again from the cache until
+ * [invalidate] is called. It uses a [RenderNode] on hardware accelerated canvases (API 29+)
+ * and a [Bitmap] everywhere else. The alpha is applied to the whole layer when drawing,
+ * without recording it again.
+ */
+internal class SlideToActLayer(private val name: String) {
+    /**
+     * Draws the content of the layer, in view coordinates.
+     */
+    fun interface Recorder {
+        fun onRecord(canvas: Canvas)
+    }
+
+    private var renderNode: RenderNode? = null
+    private var bitmap: Bitmap? = null
+    private var bitmapCanvas: Canvas? = null
+    private val bitmapPaint = Paint(Paint.FILTER_BITMAP_FLAG)
+
+    /** Flag to check if the cached content can be used */
+    private var isValid = false
+
+    /** Region covered by the cached content */
+    private val recordedBounds = Rect()
+
+    /** Marks the cached content as stale, it will be recorded again on the next draw. */
+    fun invalidate() {
+        isValid = false
+    }
+
+    /**
+     * Draws the layer, recording its content first if needed.
+     * @param canvas The canvas to draw on
+     * @param bounds The region covered by the layer, in view coordinates
+     * @param alpha The alpha (between 0 and 255) applied to the whole layer
+     * @param recorder The recorder used if the content has to be recorded again
+     */
+    fun draw(
+        canvas: Canvas,
+        bounds: Rect,
+        alpha: Int,
+        recorder: Recorder,
+    ) {
+        if (bounds.isEmpty || alpha == 0) {
+            return
+        }
+        if (recordedBounds != bounds) {
+            recordedBounds.set(bounds)
+            isValid = false
+        }
+        if (SDK_INT >= Q && canvas.isHardwareAccelerated) {
+            drawRenderNode(canvas, alpha, recorder)
+        } else {
+            drawBitmap(canvas, alpha, recorder)
+        }
+    }
+
+    @RequiresApi(Q)
+    private fun drawRenderNode(
+        canvas: Canvas,
+        alpha: Int,
+        recorder: Recorder,
+    ) {
+        val node =
+            renderNode ?: RenderNode(name).also {
+                // We only draw text and shapes, alpha can be applied to every single operation.
+                it.setHasOverlappingRendering(false)
+                renderNode = it
+            }
+        if (!isValid || !node.hasDisplayList()) {
+            node.setPosition(recordedBounds)
+            val recordingCanvas =
+                node.beginRecording(recordedBounds.width(), recordedBounds.height())
+            try {
+                recordingCanvas.translate(
+                    -recordedBounds.left.toFloat(),
+                    -recordedBounds.top.toFloat(),
+                )
+                recorder.onRecord(recordingCanvas)
+            } finally {
+                node.endRecording()
+            }
+            isValid = true
+        }
+        node.alpha = alpha / 255f
+        canvas.drawRenderNode(node)
+    }
+
+    private fun drawBitmap(
+        canvas: Canvas,
+        alpha: Int,
+        recorder: Recorder,
+    ) {
+        var layerBitmap = bitmap
+        if (layerBitmap == null ||
+            layerBitmap.width != recordedBounds.width() ||
+            layerBitmap.height != recordedBounds.height()
+        ) {
+            layerBitmap?.recycle()
+            layerBitmap =
+                Bitmap.createBitmap(
+                    recordedBounds.width(),
+                    recordedBounds.height(),
+                    Bitmap.Config.ARGB_8888,
+                )
+            bitmap = layerBitmap
+            bitmapCanvas = Canvas(layerBitmap)
+            isValid = false
+        }
+        if (!isValid) {
+            val recordingCanvas = bitmapCanvas!!
+            layerBitmap.eraseColor(0)
+            recordingCanvas.save()
+            recordingCanvas.translate(
+                -recordedBounds.left.toFloat(),
+                -recordedBounds.top.toFloat(),
+            )
+            recorder.onRecord(recordingCanvas)
+            recordingCanvas.restore()
+            isValid = true
+        }
+        bitmapPaint.alpha = alpha
+        canvas.drawBitmap(
+            layerBitmap,
+            recordedBounds.left.toFloat(),
+            recordedBounds.top.toFloat(),
+            bitmapPaint,
+        )
+    }
+
+    /** Releases the memory held by the layer. */
+    fun release() {
+        if (SDK_INT >= Q) {
+            renderNode?.discardDisplayList()
+        }
+        renderNode = null
+        bitmap?.recycle()
+        bitmap = null
+        bitmapCanvas = null
+        isValid = false
+    }
+}
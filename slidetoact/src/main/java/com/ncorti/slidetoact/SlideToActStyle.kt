@@ -0,0 +1,386 @@
+package com.ncorti.slidetoact
+
+import android.animation.ValueAnimator
+import android.content.Context
+import android.content.res.Resources
+import android.content.res.TypedArray
+import android.graphics.Color
+import android.graphics.Paint
+import android.graphics.Typeface
+import android.text.TextPaint
+import android.util.AttributeSet
+import android.util.TypedValue
+import androidx.annotation.AttrRes
+import androidx.annotation.ColorInt
+import androidx.annotation.DrawableRes
+import androidx.annotation.StyleRes
+import androidx.collection.LruCache
+import androidx.core.content.ContextCompat
+import com.ncorti.slidetoact.core.SlideToActState
+import java.util.WeakHashMap
+
+/**
+ * Immutable set of the [SlideToActView] attributes, resolved once from a theme and a style.
+ *
+ * Resolving the attributes of a slider means reading a [TypedArray], converting dimensions and
+ * resolving colors, fonts and text appearances. Styles are cached per theme, by style and by the
+ * attributes set in XML, so sliders sharing the same style resolve it once and share the
+ * dimensions and the [TextPaint] template. Themes are weakly held, so the cache never keeps an
+ * Activity alive.
+ *
+ * Sliders inflated from XML use the cache automatically. To create sliders from code use
+ * [obtain] and pass the style to the [SlideToActView] constructor.
+ */
+class SlideToActStyle private constructor(
+    context: Context,
+    attrs: TypedArray,
+) {
+    companion object {
+        private const val DEFAULT_MAX_SIZE = 16
+
+        /** Default size of the slider, when not set by `slider_height` or by the layout */
+        private const val DEFAULT_SLIDER_HEIGHT_DP = 72F
+        private const val DEFAULT_SLIDER_WIDTH_DP = 280F
+
+        private const val DEFAULT_ANIMATION_DURATION = 300
+        private const val DEFAULT_BOUNCE_DURATION = 2000
+        private const val DEFAULT_SHIMMER_DURATION = 1500
+
+        private data class Key(
+            @AttrRes val defStyleAttr: Int,
+            @StyleRes val styleRes: Int,
+            /** Slider attributes set directly in XML, see [sliderAttributes] */
+            val attributes: String?,
+        )
+
+        /** Styles of every theme, the entries go away with their theme */
+        private val cache = WeakHashMap<Resources.Theme, LruCache<Key, SlideToActStyle>>()
+
+        /** Number of styles served from the cache */
+        @JvmStatic
+        var hitCount: Int = 0
+            @Synchronized get
+            private set
+
+        /** Number of styles that had to be resolved */
+        @JvmStatic
+        var missCount: Int = 0
+            @Synchronized get
+            private set
+
+        /** Removes all the styles from the cache. */
+        @JvmStatic
+        @Synchronized
+        fun clear() {
+            cache.clear()
+        }
+
+        /**
+         * Returns the style of a [SlideToActView], resolved from [styleRes] with the theme of
+         * [context]. The style should extend `SlideToActView` to inherit its defaults.
+         */
+        @JvmStatic
+        fun obtain(
+            context: Context,
+            @StyleRes styleRes: Int,
+        ): SlideToActStyle =
+            obtainCached(context, Key(0, styleRes, null)) {
+                context.theme.obtainStyledAttributes(null, R.styleable.SlideToActView, 0, styleRes)
+            }
+
+        /**
+         * Returns the style of a [SlideToActView] inflated with [attrs]. Sliders inflated from
+         * the same XML, with the same theme, share the style.
+         */
+        internal fun obtain(
+            context: Context,
+            attrs: AttributeSet?,
+            @AttrRes defStyleAttr: Int,
+        ): SlideToActStyle {
+            val resolve = {
+                context.theme.obtainStyledAttributes(
+                    attrs,
+                    R.styleable.SlideToActView,
+                    defStyleAttr,
+                    R.style.SlideToActView,
+                )
+            }
+            val key = Key(defStyleAttr, attrs?.styleAttribute ?: 0, sliderAttributes(attrs))
+            return obtainCached(context, key, resolve)
+        }
+
+        @Synchronized
+        private fun obtainCached(
+            context: Context,
+            key: Key,
+            resolve: () -> TypedArray,
+        ): SlideToActStyle {
+            val styles =
+                cache.getOrPut(context.theme) { LruCache<Key, SlideToActStyle>(DEFAULT_MAX_SIZE) }
+            styles.get(key)?.let {
+                hitCount++
+                return it
+            }
+            missCount++
+            return fromTypedArray(context, resolve()).also { styles.put(key, it) }
+        }
+
+        private fun fromTypedArray(
+            context: Context,
+            attrs: TypedArray,
+        ): SlideToActStyle =
+            try {
+                SlideToActStyle(context, attrs)
+            } finally {
+                attrs.recycle()
+            }
+
+        /**
+         * Returns the slider attributes that [attrs] set directly, not through a style, as
+         * `name=value` pairs. Values are the raw XML values, e.g. `@2131034112` for a resource.
+         * @return The attributes, or null if there are none
+         */
+        private fun sliderAttributes(attrs: AttributeSet?): String? {
+            if (attrs == null) {
+                return null
+            }
+            var result: StringBuilder? = null
+            for (i in 0 until attrs.attributeCount) {
+                val name = attrs.getAttributeNameResource(i)
+                if (R.styleable.SlideToActView.contains(name)) {
+                    val builder = result ?: StringBuilder().also { result = it }
+                    builder.append(name).append('=').append(attrs.getAttributeValue(i)).append(';')
+                }
+            }
+            return result?.toString()
+        }
+    }
+
+    /** Desired height of the slider (in pixels) */
+    val sliderHeight: Int
+
+    /** Desired width of the slider (in pixels) */
+    val sliderWidth: Int
+
+    /** Border radius (in pixels), -1 for a fully rounded slider */
+    val borderRadius: Int
+
+    @ColorInt
+    val outerColor: Int
+
+    @ColorInt
+    val innerColor: Int
+
+    @ColorInt
+    val textColor: Int
+
+    @ColorInt
+    val iconColor: Int
+
+    /** Color of the track fill, transparent when the fill is disabled */
+    @ColorInt
+    val fillColor: Int
+
+    val text: CharSequence
+    val textStyle: Int
+
+    /** Text size (in pixels) */
+    val textSize: Int
+
+    @StyleRes
+    val textAppearance: Int
+
+    /** Max number of lines of the label */
+    val textMaxLines: Int
+
+    val isLocked: Boolean
+    val graceValue: Float
+
+    /** Min velocity of a completing fling (in pixels per second) */
+    val flingVelocityThreshold: Float
+    val isLayeredRendering: Boolean
+    val isMetricsEnabled: Boolean
+    val isReversed: Boolean
+    val isRotateIcon: Boolean
+    val isAnimateCompletion: Boolean
+    val animDuration: Long
+    val bumpVibration: Long
+    val hapticDetents: Int
+
+    /** Margin of the cursor from the outer area (in pixels) */
+    val areaMargin: Int
+
+    /** Margin of the icons from the cursor (in pixels) */
+    val iconMargin: Int
+
+    @DrawableRes
+    val sliderIcon: Int
+
+    @DrawableRes
+    val completeIcon: Int
+
+    val isCompleted: Boolean
+    val isBounceOnStart: Boolean
+    val bounceDuration: Long
+    val bounceRepeat: Int
+    val isShimmerOnStart: Boolean
+    val shimmerDuration: Long
+
+    /** Color of the shimmer band, transparent to derive it from the text color */
+    @ColorInt
+    val shimmerColor: Int
+
+    /** Template of the text paint, with the text style and the text appearance applied */
+    internal val textPaint: TextPaint = TextPaint(Paint.ANTI_ALIAS_FLAG)
+
+    /** Flag set by a text appearance with `android:textAllCaps` */
+    internal val textAllCaps: Boolean
+
+    /** Room needed by the text shadow set by a text appearance */
+    internal val textShadowPadding: Float
+
+    init {
+        val resources = context.resources
+        val defaultOuter = ContextCompat.getColor(context, R.color.slidetoact_defaultAccent)
+        val defaultWhite = ContextCompat.getColor(context, R.color.slidetoact_white)
+
+        with(attrs) {
+            sliderHeight =
+                getDimensionPixelSize(
+                    R.styleable.SlideToActView_slider_height,
+                    TypedValue.applyDimension(
+                        TypedValue.COMPLEX_UNIT_DIP,
+                        DEFAULT_SLIDER_HEIGHT_DP,
+                        resources.displayMetrics,
+                    ).toInt(),
+                )
+            sliderWidth =
+                TypedValue.applyDimension(
+                    TypedValue.COMPLEX_UNIT_DIP,
+                    DEFAULT_SLIDER_WIDTH_DP,
+                    resources.displayMetrics,
+                ).toInt()
+            borderRadius = getDimensionPixelSize(R.styleable.SlideToActView_border_radius, -1)
+
+            outerColor = getColor(R.styleable.SlideToActView_outer_color, defaultOuter)
+            innerColor = getColor(R.styleable.SlideToActView_inner_color, defaultWhite)
+
+            // For text color, check if the `text_color` is set.
+            // if not check if the `outer_color` is set.
+            // if not, default to white.
+            textColor =
+                when {
+                    hasValue(R.styleable.SlideToActView_text_color) ->
+                        getColor(R.styleable.SlideToActView_text_color, defaultWhite)
+                    hasValue(R.styleable.SlideToActView_inner_color) -> innerColor
+                    else -> defaultWhite
+                }
+
+            // For icon color. check if the `slide_icon_color` is set.
+            // if not check if the `outer_color` is set.
+            // if not, default to defaultOuter.
+            iconColor =
+                when {
+                    hasValue(R.styleable.SlideToActView_slider_icon_color) ->
+                        getColor(R.styleable.SlideToActView_slider_icon_color, defaultOuter)
+                    hasValue(R.styleable.SlideToActView_outer_color) -> outerColor
+                    else -> defaultOuter
+                }
+
+            fillColor = getColor(R.styleable.SlideToActView_fill_color, Color.TRANSPARENT)
+
+            text = getString(R.styleable.SlideToActView_text) ?: ""
+            textStyle = getInt(R.styleable.SlideToActView_text_style, 0)
+            textSize =
+                getDimensionPixelSize(
+                    R.styleable.SlideToActView_text_size,
+                    resources.getDimensionPixelSize(R.dimen.slidetoact_default_text_size),
+                )
+            textAppearance = getResourceId(R.styleable.SlideToActView_text_appearance, 0)
+            textMaxLines = getInt(R.styleable.SlideToActView_text_max_lines, 1)
+
+            isLocked = getBoolean(R.styleable.SlideToActView_slider_locked, false)
+            graceValue =
+                getFloat(
+                    R.styleable.SlideToActView_grace_value,
+                    SlideToActState.DEFAULT_GRACE_VALUE,
+                )
+            // The attribute is in dp per second, it can't be a dimension as it's not a length.
+            flingVelocityThreshold =
+                getFloat(R.styleable.SlideToActView_fling_velocity_threshold, 0f) *
+                resources.displayMetrics.density
+            isLayeredRendering = getBoolean(R.styleable.SlideToActView_layered_rendering, false)
+            isMetricsEnabled = getBoolean(R.styleable.SlideToActView_metrics_enabled, false)
+            isReversed = getBoolean(R.styleable.SlideToActView_slider_reversed, false)
+            isRotateIcon = getBoolean(R.styleable.SlideToActView_rotate_icon, true)
+            isAnimateCompletion = getBoolean(R.styleable.SlideToActView_animate_completion, true)
+            animDuration =
+                getInteger(
+                    R.styleable.SlideToActView_animation_duration,
+                    DEFAULT_ANIMATION_DURATION,
+                ).toLong()
+            bumpVibration = getInt(R.styleable.SlideToActView_bump_vibration, 0).toLong()
+            hapticDetents = getInt(R.styleable.SlideToActView_haptic_detents, 0)
+
+            areaMargin =
+                getDimensionPixelSize(
+                    R.styleable.SlideToActView_area_margin,
+                    resources.getDimensionPixelSize(R.dimen.slidetoact_default_area_margin),
+                )
+            iconMargin =
+                getDimensionPixelSize(
+                    R.styleable.SlideToActView_icon_margin,
+                    resources.getDimensionPixelSize(R.dimen.slidetoact_default_icon_margin),
+                )
+            sliderIcon =
+                getResourceId(
+                    R.styleable.SlideToActView_slider_icon,
+                    R.drawable.slidetoact_ic_arrow,
+                )
+            completeIcon =
+                getResourceId(
+                    R.styleable.SlideToActView_complete_icon,
+                    R.drawable.slidetoact_animated_ic_check,
+                )
+
+            isCompleted = getBoolean(R.styleable.SlideToActView_state_complete, false)
+            isBounceOnStart = getBoolean(R.styleable.SlideToActView_bounce_on_start, false)
+            bounceDuration =
+                getInteger(
+                    R.styleable.SlideToActView_bounce_duration,
+                    DEFAULT_BOUNCE_DURATION,
+                ).toLong()
+            bounceRepeat =
+                getInteger(R.styleable.SlideToActView_bounce_repeat, ValueAnimator.INFINITE)
+            isShimmerOnStart = getBoolean(R.styleable.SlideToActView_shimmer_on_start, false)
+            shimmerDuration =
+                getInteger(
+                    R.styleable.SlideToActView_shimmer_duration,
+                    DEFAULT_SHIMMER_DURATION,
+                ).toLong()
+            shimmerColor = getColor(R.styleable.SlideToActView_shimmer_color, Color.TRANSPARENT)
+        }
+
+        textPaint.density = resources.displayMetrics.density
+        textPaint.typeface = Typeface.create("sans-serif-light", textStyle)
+        textPaint.textSize = textSize.toFloat()
+        textPaint.color = textColor
+
+        // TextAppearance is the last as will have precedence over everything text related.
+        if (textAppearance != 0) {
+            val appearance =
+                SlideToActTextStyler.applyTextAppearance(
+                    context,
+                    textAppearance,
+                    textPaint,
+                    textSize,
+                    textColor,
+                )
+            textAllCaps = appearance.allCaps ?: false
+            textShadowPadding = appearance.shadowPadding ?: 0f
+        } else {
+            textAllCaps = false
+            textShadowPadding = 0f
+        }
+    }
+}
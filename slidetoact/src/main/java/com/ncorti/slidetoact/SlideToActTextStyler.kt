@@ -0,0 +1,143 @@
+package com.ncorti.slidetoact
+
+import android.content.Context
+import android.content.res.Resources
+import android.content.res.TypedArray
+import android.graphics.Typeface
+import android.text.TextPaint
+import androidx.annotation.StyleRes
+import androidx.core.content.res.ResourcesCompat
+import kotlin.math.abs
+import kotlin.math.max
+
+/**
+ * Applies text attributes to a [TextPaint], shared by the [SlideToActView] and the
+ * [SlideToActStyle] that pre-resolves its text paint.
+ */
+internal object SlideToActTextStyler {
+    /**
+     * Attributes of a TextAppearance that don't live in the [TextPaint].
+     * @param allCaps The `android:textAllCaps` flag, null if not set
+     * @param shadowPadding Room needed by the text shadow, null if there is no shadow
+     */
+    class Result(
+        val allCaps: Boolean?,
+        val shadowPadding: Float?,
+    )
+
+    /**
+     * Resolves a TextAppearance style directly into [paint]. It applies the same attributes,
+     * with the same precedence, that a TextView would apply.
+     */
+    fun applyTextAppearance(
+        context: Context,
+        @StyleRes resId: Int,
+        paint: TextPaint,
+        defaultTextSize: Int,
+        defaultTextColor: Int,
+    ): Result {
+        var allCaps: Boolean? = null
+        var shadowPadding: Float? = null
+        val appearance =
+            context.obtainStyledAttributes(resId, R.styleable.SlideToActTextAppearance)
+        try {
+            with(appearance) {
+                if (hasValue(R.styleable.SlideToActTextAppearance_android_textSize)) {
+                    paint.textSize =
+                        getDimensionPixelSize(
+                            R.styleable.SlideToActTextAppearance_android_textSize,
+                            defaultTextSize,
+                        ).toFloat()
+                }
+                if (hasValue(R.styleable.SlideToActTextAppearance_android_textColor)) {
+                    paint.color =
+                        getColor(
+                            R.styleable.SlideToActTextAppearance_android_textColor,
+                            defaultTextColor,
+                        )
+                }
+                if (hasValue(R.styleable.SlideToActTextAppearance_android_textAllCaps)) {
+                    allCaps =
+                        getBoolean(R.styleable.SlideToActTextAppearance_android_textAllCaps, false)
+                }
+                val shadowColor =
+                    getColor(R.styleable.SlideToActTextAppearance_android_shadowColor, 0)
+                if (shadowColor != 0) {
+                    val radius =
+                        getFloat(R.styleable.SlideToActTextAppearance_android_shadowRadius, 0f)
+                    val dx = getFloat(R.styleable.SlideToActTextAppearance_android_shadowDx, 0f)
+                    val dy = getFloat(R.styleable.SlideToActTextAppearance_android_shadowDy, 0f)
+                    paint.setShadowLayer(radius, dx, dy, shadowColor)
+                    shadowPadding = radius + max(abs(dx), abs(dy))
+                }
+                setTypeface(
+                    paint,
+                    resolveTypeface(context, this),
+                    getInt(R.styleable.SlideToActTextAppearance_android_textStyle, Typeface.NORMAL),
+                )
+            }
+        } finally {
+            appearance.recycle()
+        }
+        return Result(allCaps, shadowPadding)
+    }
+
+    /**
+     * Resolves the typeface of a TextAppearance, either from a font resource,
+     * from a font family name or from the `android:typeface` enum.
+     */
+    private fun resolveTypeface(
+        context: Context,
+        appearance: TypedArray,
+    ): Typeface? {
+        val fontFamily = R.styleable.SlideToActTextAppearance_android_fontFamily
+        if (appearance.hasValue(fontFamily)) {
+            val fontResId = appearance.getResourceId(fontFamily, 0)
+            if (fontResId != 0) {
+                try {
+                    ResourcesCompat.getFont(context, fontResId)?.let { return it }
+                } catch (e: Resources.NotFoundException) {
+                    // Not a font resource, we fallback to the family name.
+                }
+            }
+            appearance.getString(fontFamily)?.let {
+                return Typeface.create(it, Typeface.NORMAL)
+            }
+        }
+        val typefaceIndex =
+            appearance.getInt(R.styleable.SlideToActTextAppearance_android_typeface, 0)
+        return when (typefaceIndex) {
+            1 -> Typeface.SANS_SERIF
+            2 -> Typeface.SERIF
+            3 -> Typeface.MONOSPACE
+            else -> null
+        }
+    }
+
+    /**
+     * Applies a typeface with a style to [paint]. If the typeface doesn't support the style,
+     * bold and italic are faked as a TextView does.
+     */
+    private fun setTypeface(
+        paint: TextPaint,
+        typeface: Typeface?,
+        style: Int,
+    ) {
+        if (style > 0) {
+            val styledTypeface =
+                if (typeface == null) {
+                    Typeface.defaultFromStyle(style)
+                } else {
+                    Typeface.create(typeface, style)
+                }
+            paint.typeface = styledTypeface
+            val need = style and (styledTypeface?.style ?: 0).inv()
+            paint.isFakeBoldText = (need and Typeface.BOLD) != 0
+            paint.textSkewX = if ((need and Typeface.ITALIC) != 0) -0.25f else 0f
+        } else {
+            paint.isFakeBoldText = false
+            paint.textSkewX = 0f
+            paint.typeface = typeface
+        }
+    }
+}
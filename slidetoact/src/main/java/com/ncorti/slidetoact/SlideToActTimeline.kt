@@ -0,0 +1,292 @@
+package com.ncorti.slidetoact
+
+import android.animation.TimeInterpolator
+import android.animation.ValueAnimator
+import android.os.Build.VERSION.SDK_INT
+import android.os.Build.VERSION_CODES.JELLY_BEAN
+import android.os.Build.VERSION_CODES.JELLY_BEAN_MR1
+import android.os.Build.VERSION_CODES.TIRAMISU
+import android.provider.Settings
+import android.view.Choreographer
+import android.view.View
+import android.view.animation.AccelerateDecelerateInterpolator
+import android.view.animation.AnimationUtils
+import androidx.core.view.ViewCompat
+
+/**
+ * Animation engine of the [SlideToActView].
+ *
+ * A timeline plays a [Sequence] of [Segment]s one after the other, advancing all of them
+ * from a single [Choreographer.FrameCallback]. Segments only update the state of the view:
+ * the timeline invalidates the view once per frame. Only one sequence can be played at a time:
+ * starting a sequence interrupts the current one, and a [ContinuousInterpolator] lets the new
+ * sequence pick up the motion with the same velocity.
+ */
+internal class SlideToActTimeline(private val view: View) {
+    companion object {
+        private const val MAX_SEGMENTS = 8
+        private const val NANOS_PER_MILLI = 1_000_000L
+
+        /** Same default interpolator of [ValueAnimator] */
+        private val DEFAULT_INTERPOLATOR: TimeInterpolator = AccelerateDecelerateInterpolator()
+
+        /** Max initial slope of a [ContinuousInterpolator], steeper slopes would overshoot */
+        private const val MAX_INITIAL_SLOPE = 3f
+    }
+
+    /**
+     * A phase of a sequence.
+     */
+    fun interface Segment {
+        /**
+         * Called on every frame while the segment is running.
+         * @param fraction The interpolated progress of the segment, 0f at start and 1f at the end
+         */
+        fun onUpdate(fraction: Float)
+    }
+
+    /**
+     * Listener notified when a sequence starts or ends.
+     */
+    interface Listener {
+        fun onTimelineStart()
+
+        fun onTimelineEnd()
+
+        /**
+         * Called instead of [onTimelineEnd] when the sequence is stopped before its end, by
+         * [cancel] or by starting another sequence.
+         */
+        fun onTimelineInterrupt() {
+        }
+    }
+
+    /**
+     * Observer notified on every frame of a sequence, except the first one.
+     */
+    fun interface FrameObserver {
+        /**
+         * @param intervalNanos Time elapsed since the previous frame of the sequence
+         */
+        fun onFrame(intervalNanos: Long)
+    }
+
+    /**
+     * An ease-out curve that starts with a given slope, so a segment can continue a motion
+     * that was interrupted (e.g. a fling or another sequence) without a jump in velocity.
+     * With a slope of 0 it's a smoothstep, close to the default interpolator.
+     */
+    class ContinuousInterpolator : TimeInterpolator {
+        /** Slope of the curve at the start, clamped between 0 and [MAX_INITIAL_SLOPE] */
+        var initialSlope: Float = 0f
+            set(value) {
+                field = value.coerceIn(0f, MAX_INITIAL_SLOPE)
+            }
+
+        /**
+         * Sets the slope matching [velocity] (units per second) for a segment that moves by
+         * [distance] units in [durationMs] milliseconds.
+         */
+        fun setInitialVelocity(
+            velocity: Float,
+            distance: Float,
+            durationMs: Long,
+        ) {
+            initialSlope = if (distance == 0f) 0f else velocity * durationMs / 1000f / distance
+        }
+
+        override fun getInterpolation(input: Float): Float {
+            // Cubic Hermite curve from (0, 0) with the initial slope to (1, 1) with slope 0.
+            val slope = initialSlope
+            return input * (slope + input * (3 - 2 * slope + input * (slope - 2)))
+        }
+    }
+
+    /**
+     * A list of segments played sequentially. A sequence is built once and can be played
+     * any number of times, without allocating.
+     */
+    class Sequence(internal val listener: Listener) {
+        internal val segments = arrayOfNulls<Segment>(MAX_SEGMENTS)
+        internal val interpolators = arrayOfNulls<TimeInterpolator>(MAX_SEGMENTS)
+        internal val durations = LongArray(MAX_SEGMENTS)
+
+        /** Number of segments in this sequence */
+        var size: Int = 0
+            private set
+
+        /**
+         * Appends a segment to the sequence.
+         * @return The index of the segment
+         */
+        fun add(
+            segment: Segment,
+            interpolator: TimeInterpolator = DEFAULT_INTERPOLATOR,
+        ): Int {
+            segments[size] = segment
+            interpolators[size] = interpolator
+            return size++
+        }
+
+        /** Sets the duration (in milliseconds) of every segment */
+        fun setDuration(durationMs: Long) {
+            for (i in 0 until size) {
+                durations[i] = durationMs
+            }
+        }
+
+        /** Sets the duration (in milliseconds) of the segment at [index] */
+        fun setDuration(
+            index: Int,
+            durationMs: Long,
+        ) {
+            durations[index] = durationMs
+        }
+    }
+
+    private var sequence: Sequence? = null
+    private var segmentIndex = 0
+    private var segmentStartNanos = -1L
+    private var durationScale = 1f
+    private var lastFrameNanos = -1L
+
+    /** Optional observer of the frames played, used to collect metrics */
+    var frameObserver: FrameObserver? = null
+
+    /** Time elapsed between the last two frames of the current sequence, 0 on the first one */
+    var frameIntervalNanos: Long = 0L
+        private set
+
+    private val frameCallback: Choreographer.FrameCallback? =
+        if (SDK_INT >= JELLY_BEAN) {
+            Choreographer.FrameCallback { doFrame(it) }
+        } else {
+            null
+        }
+
+    private val frameRunnable =
+        Runnable {
+            doFrame(AnimationUtils.currentAnimationTimeMillis() * NANOS_PER_MILLI)
+        }
+
+    /** True if a sequence is being played */
+    val isRunning: Boolean
+        get() = sequence != null
+
+    /** True if [sequence] is being played */
+    fun isPlaying(sequence: Sequence): Boolean = this.sequence === sequence
+
+    /** True if [segment] is the segment being played */
+    fun isPlaying(segment: Segment): Boolean {
+        val sequence = sequence ?: return false
+        return segmentIndex < sequence.size && sequence.segments[segmentIndex] === segment
+    }
+
+    /**
+     * Starts playing [sequence], cancelling the sequence currently played (if any).
+     */
+    fun start(sequence: Sequence) {
+        cancel()
+        this.sequence = sequence
+        segmentIndex = 0
+        segmentStartNanos = -1L
+        lastFrameNanos = -1L
+        frameIntervalNanos = 0L
+        durationScale = readDurationScale()
+        sequence.listener.onTimelineStart()
+        postFrame()
+    }
+
+    /**
+     * Stops the current sequence, leaving the view where it is. The listener is notified
+     * with [Listener.onTimelineInterrupt].
+     */
+    fun cancel() {
+        val sequence = sequence ?: return
+        this.sequence = null
+        removeFrame()
+        sequence.listener.onTimelineInterrupt()
+    }
+
+    /**
+     * Jumps to the end of the current sequence: the end values of the remaining segments are
+     * applied and the listener is notified, as if the sequence was played till the end.
+     */
+    fun end() {
+        val sequence = sequence ?: return
+        removeFrame()
+        for (i in segmentIndex until sequence.size) {
+            sequence.segments[i]!!.onUpdate(sequence.interpolators[i]!!.getInterpolation(1f))
+        }
+        this.sequence = null
+        view.invalidate()
+        sequence.listener.onTimelineEnd()
+    }
+
+    private fun doFrame(frameTimeNanos: Long) {
+        val sequence = sequence ?: return
+        if (segmentStartNanos < 0) {
+            segmentStartNanos = frameTimeNanos
+        }
+        if (lastFrameNanos >= 0) {
+            frameIntervalNanos = frameTimeNanos - lastFrameNanos
+            frameObserver?.onFrame(frameIntervalNanos)
+        }
+        lastFrameNanos = frameTimeNanos
+        while (segmentIndex < sequence.size) {
+            val segment = sequence.segments[segmentIndex]!!
+            val interpolator = sequence.interpolators[segmentIndex]!!
+            val duration =
+                (sequence.durations[segmentIndex] * durationScale * NANOS_PER_MILLI).toLong()
+            val elapsed = frameTimeNanos - segmentStartNanos
+            if (elapsed < duration) {
+                segment.onUpdate(interpolator.getInterpolation(elapsed.toFloat() / duration))
+                break
+            }
+            // The segment is over: we apply its end value and we move to the next one.
+            segment.onUpdate(interpolator.getInterpolation(1f))
+            segmentStartNanos += duration
+            segmentIndex++
+        }
+        view.invalidate()
+
+        if (segmentIndex < sequence.size) {
+            postFrame()
+        } else {
+            this.sequence = null
+            sequence.listener.onTimelineEnd()
+        }
+    }
+
+    private fun postFrame() {
+        if (SDK_INT >= JELLY_BEAN) {
+            Choreographer.getInstance().postFrameCallback(frameCallback)
+        } else {
+            ViewCompat.postOnAnimation(view, frameRunnable)
+        }
+    }
+
+    private fun removeFrame() {
+        if (SDK_INT >= JELLY_BEAN) {
+            Choreographer.getInstance().removeFrameCallback(frameCallback)
+        } else {
+            view.removeCallbacks(frameRunnable)
+        }
+    }
+
+    /**
+     * Reads the animator duration scale from the system settings, so that durations are
+     * scaled the same way a [ValueAnimator] would do.
+     */
+    private fun readDurationScale(): Float =
+        when {
+            SDK_INT >= TIRAMISU -> ValueAnimator.getDurationScale()
+            SDK_INT >= JELLY_BEAN_MR1 ->
+                Settings.Global.getFloat(
+                    view.context.contentResolver,
+                    Settings.Global.ANIMATOR_DURATION_SCALE,
+                    1f,
+                )
+            else -> 1f
+        }
+}
@@ -1,48 +1,73 @@
 package com.ncorti.slidetoact
 
-import android.Manifest
 import android.animation.Animator
-import android.animation.AnimatorSet
+import android.animation.AnimatorListenerAdapter
 import android.animation.ValueAnimator
-import android.annotation.SuppressLint
 import android.content.Context
-import android.content.pm.PackageManager
-import android.content.res.TypedArray
 import android.graphics.Canvas
+import android.graphics.Color
+import android.graphics.LinearGradient
+import android.graphics.Matrix
 import android.graphics.Outline
 import android.graphics.Paint
+import android.graphics.Rect
 import android.graphics.RectF
+import android.graphics.Shader
 import android.graphics.Typeface
 import android.graphics.drawable.Drawable
 import android.os.Build
-import android.os.VibrationEffect
-import android.os.Vibrator
-import android.os.VibratorManager
+import android.os.Parcel
+import android.os.Parcelable
+import android.provider.Settings
+import android.text.TextPaint
 import android.util.AttributeSet
-import android.util.Log
-import android.util.TypedValue
 import android.view.MotionEvent
+import android.view.VelocityTracker
 import android.view.View
+import android.view.ViewConfiguration
 import android.view.ViewOutlineProvider
+import android.view.ViewTreeObserver
 import android.view.accessibility.AccessibilityNodeInfo
+import android.view.animation.AnimationUtils
 import android.view.animation.AnticipateOvershootInterpolator
+import android.view.animation.LinearInterpolator
 import android.view.animation.OvershootInterpolator
-import android.widget.TextView
 import androidx.annotation.ColorInt
 import androidx.annotation.DrawableRes
 import androidx.annotation.RequiresApi
+import androidx.annotation.RestrictTo
 import androidx.annotation.StyleRes
-import androidx.core.content.ContextCompat
 import androidx.core.content.res.ResourcesCompat
+import androidx.core.graphics.ColorUtils
+import androidx.core.os.ConfigurationCompat
 import androidx.core.graphics.drawable.DrawableCompat
 import androidx.core.view.ViewCompat
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat
-import androidx.core.widget.TextViewCompat
-import com.ncorti.slidetoact.SlideToActIconUtil.createIconAnimator
+import com.google.common.util.concurrent.ListenableFuture
 import com.ncorti.slidetoact.SlideToActIconUtil.loadIconCompat
 import com.ncorti.slidetoact.SlideToActIconUtil.startIconAnimation
 import com.ncorti.slidetoact.SlideToActIconUtil.stopIconAnimation
 import com.ncorti.slidetoact.SlideToActIconUtil.tintIconCompat
+import com.ncorti.slidetoact.SlideToActIconUtil.updateIconAnimation
+import com.ncorti.slidetoact.core.SlideToActGestureRecorder
+import com.ncorti.slidetoact.core.SlideToActGestureTrace
+import com.ncorti.slidetoact.core.SlideToActMetrics
+import com.ncorti.slidetoact.core.SlideToActState
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import java.util.Locale
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import kotlin.math.ceil
+import kotlin.math.floor
+import kotlin.math.max
+import kotlin.math.min
 
 /**
  *  Class representing the custom view, SlideToActView.
@@ -56,96 +81,203 @@ class SlideToActView
         context: Context,
         xmlAttrs: AttributeSet? = null,
         defStyleAttr: Int = R.attr.slideToActViewStyle,
+        style: SlideToActStyle? = null,
     ) : View(context, xmlAttrs, defStyleAttr) {
         companion object {
             const val TAG = "SlideToActView"
+
+            /** Default interval (in milliseconds) between two metrics reports */
+            const val DEFAULT_METRICS_REPORT_INTERVAL = 1000L
+
+            /** Frame budget of a 60Hz display, used when the display is unknown */
+            private const val DEFAULT_FRAME_BUDGET_NANOS = 16_666_667L
+
+            /** Extra room for the arrow, as it can exceed the cursor while rotating */
+            private const val ARROW_ROTATION_SLOP = 0.21F
+
+            /** Extra room for the text, as italic or faked italic text can exceed its width */
+            private const val TEXT_SKEW_SLOP = 0.25F
+
+            private const val NANOS_PER_SECOND = 1_000_000_000F
+
+            /** Duration of a full turn of the pending spinner, in milliseconds */
+            private const val SPINNER_ROTATION_MS = 1332L
+
+            /** Duration of a grow and shrink cycle of the pending spinner arc, in milliseconds */
+            private const val SPINNER_SWEEP_MS = 1800L
+
+            /** Sweep angles of the pending spinner arc */
+            private const val SPINNER_MIN_SWEEP = 20F
+            private const val SPINNER_MAX_SWEEP = 270F
+
+            /** Runs the future listeners on the completing thread, the result is posted anyway */
+            private val DIRECT_EXECUTOR = Executor { it.run() }
+
+            /**
+             * Loads a complete icon in the [SlideToActIconCache] on a background thread, so the
+             * first slider that completes doesn't inflate it on the UI thread. Icons are cached
+             * per theme: [context] should have the same theme of the sliders.
+             * @param context The context used to load the icon
+             * @param resId The complete icon, defaults to the animated check of the library
+             */
+            @JvmStatic
+            @JvmOverloads
+            fun preloadCompleteIcon(
+                context: Context,
+                @DrawableRes resId: Int = R.drawable.slidetoact_animated_ic_check,
+            ) {
+                SlideToActExecutors.background.execute {
+                    SlideToActIconCache.getDrawable(
+                        context,
+                        resId,
+                        SlideToActIconUtil::loadIconCompat,
+                    )
+                }
+            }
         }
 
         // -------------------- LAYOUT BOUNDS --------------------
 
-        private var mDesiredSliderHeightDp: Float = 72F
-        private var mDesiredSliderWidthDp: Float = 280F
         private var mDesiredSliderHeight: Int = 0
         private var mDesiredSliderWidth: Int = 0
 
         // -------------------- MEMBERS --------------------
 
+        /** Android-free state machine holding position, grace check and completion */
+        private val mState = SlideToActState()
+
         /** Height of the drawing area */
-        private var mAreaHeight: Int = 0
+        private val mAreaHeight: Int
+            get() = mState.areaHeight
 
         /** Width of the drawing area */
-        private var mAreaWidth: Int = 0
+        private val mAreaWidth: Int
+            get() = mState.areaWidth
 
         /** Actual Width of the drawing area, used for animations */
         private var mActualAreaWidth: Int = 0
+            set(value) {
+                field = value
+                mBoundsDirty = true
+            }
 
         /** Border Radius, default to mAreaHeight/2, -1 when not initialized */
         private var mBorderRadius: Int = -1
 
         /** Margin of the cursor from the outer area */
-        private var mActualAreaMargin: Int
+        private var mActualAreaMargin: Int = 0
+            set(value) {
+                field = value
+                mBoundsDirty = true
+            }
         private val mOriginAreaMargin: Int
 
         /** Text message */
-        var text: CharSequence = ""
+        var text: CharSequence
+            get() = mText
             set(value) {
-                field = value
-                mTextView.text = value
-                mTextPaint.set(mTextView.paint)
+                mText = value
+                updateTextToDraw()
                 invalidate()
             }
+        private var mText: CharSequence = ""
 
         /** Typeface for the text field */
-        var typeFace = Typeface.NORMAL
+        var typeFace: Int
+            get() = mTypeFace
             set(value) {
-                field = value
-                mTextView.typeface = Typeface.create("sans-serif-light", value)
-                mTextPaint.set(mTextView.paint)
+                mTypeFace = value
+                mTextPaint.typeface = Typeface.create("sans-serif-light", value)
+                updateTextToDraw()
                 invalidate()
             }
+        private var mTypeFace = Typeface.NORMAL
 
         /** Text Appearance used to fully customize the font */
         @StyleRes
-        var textAppearance: Int = 0
+        var textAppearance: Int
+            get() = mTextAppearance
             set(value) {
-                field = value
+                mTextAppearance = value
                 if (value != 0) {
-                    TextViewCompat.setTextAppearance(mTextView, value)
-                    mTextPaint.set(mTextView.paint)
-                    mTextPaint.color = mTextView.currentTextColor
+                    applyTextAppearance(value)
+                    updateTextToDraw()
+                    invalidate()
                 }
             }
+        private var mTextAppearance: Int = 0
 
         /** Outer color used by the slider (primary)*/
         @ColorInt
-        var outerColor: Int = 0
+        var outerColor: Int
+            get() = mOuterColor
             set(value) {
-                field = value
-                mOuterPaint.color = value
+                updateOuterColor(value)
                 invalidate()
             }
 
+        @ColorInt
+        private var mOuterColor: Int = 0
+
         /** Inner color used by the slider (secondary, icon and border) */
         @ColorInt
-        var innerColor: Int = 0
+        var innerColor: Int
+            get() = mInnerColor
+            set(value) {
+                updateInnerColor(value)
+                invalidate()
+            }
+
+        @ColorInt
+        private var mInnerColor: Int = 0
+
+        /** Private flag set while [bind] applies a state, the view is invalidated at the end */
+        private var mIsBinding = false
+
+        /**
+         * Color of the track behind the cursor, that fills while the user slides. The fill is
+         * blended from [outerColor] to this color with the cursor position.
+         * Defaults to transparent, that disables the fill.
+         */
+        @ColorInt
+        var fillColor: Int = Color.TRANSPARENT
             set(value) {
                 field = value
-                mInnerPaint.color = value
                 invalidate()
             }
 
         /** Duration of the complete and reset animation (in milliseconds). */
         var animDuration: Long = 300
 
+        /** Haptic feedback, vibrations are dispatched off the UI thread */
+        private val mHaptics = SlideToActHaptics(context)
+
         /** Duration of vibration after bumping to the end point */
-        var bumpVibration: Long = 0L
+        var bumpVibration: Long
+            get() = mHaptics.bumpDuration
+            set(value) {
+                mHaptics.bumpDuration = value
+            }
+
+        /**
+         * Number of detents evenly spaced along the track. A short tick is played every time
+         * the cursor crosses one of them. Requires the VIBRATE permission, default is 0.
+         */
+        var hapticDetents: Int
+            get() = mHaptics.detents
+            set(value) {
+                mHaptics.detents = value
+            }
 
         @ColorInt
         var textColor: Int = 0
             set(value) {
                 field = value
-                mTextView.setTextColor(value)
-                mTextPaint.color = textColor
+                mTextPaint.color = value
+                mLabelLayer.invalidate()
+                if (mShimmerShader != null) {
+                    updateShimmerShader()
+                }
                 invalidate()
             }
 
@@ -164,79 +296,105 @@ class SlideToActView
             set(value) {
                 field = value
                 if (field != 0) {
-                    ResourcesCompat.getDrawable(context.resources, value, context.theme)?.let {
-                        mDrawableArrow = it
-                        DrawableCompat.setTint(it, iconColor)
+                    SlideToActIconCache.getDrawable(context, value) { ctx, resId ->
+                        ResourcesCompat.getDrawable(ctx.resources, resId, ctx.theme)
+                    }?.let {
+                        // The state is shared with other sliders, so we mutate before tinting.
+                        mDrawableArrow = it.mutate()
+                        DrawableCompat.setTint(mDrawableArrow, iconColor)
+                        mBoundsDirty = true
                     }
                     invalidate()
                 }
             }
 
         /** Slider cursor position (between 0 and (`mAreaWidth - mAreaHeight)) */
-        private var mPosition: Int = 0
+        private var mPosition: Float
+            get() = mState.position
             set(value) {
-                field = value
-                if (mAreaWidth - mAreaHeight == 0) {
-                    // Avoid 0 division
-                    mPositionPerc = 0f
-                    mPositionPercInv = 1f
-                    return
-                }
-                mPositionPerc = value.toFloat() / (mAreaWidth - mAreaHeight).toFloat()
-                mPositionPercInv = 1 - value.toFloat() / (mAreaWidth - mAreaHeight).toFloat()
-                mEffectivePosition = mPosition
+                mState.position = value
+                mBoundsDirty = true
+                scheduleProgressDispatch()
             }
 
         /** Slider cursor effective position. This is used to handle the `reversed` scenario. */
-        private var mEffectivePosition: Int = 0
-            set(value) {
-                field = if (isReversed) (mAreaWidth - mAreaHeight) - value else value
-            }
+        private val mEffectivePosition: Float
+            get() = mState.effectivePosition
+
+        /** Positioning of the label layout (top left corner) */
+        private var mTextTop = 0f
+        private var mTextLeft = 0f
+
+        /** Text to draw, with the text transformation (e.g. AllCaps) already applied */
+        private var mTextToDraw: CharSequence = ""
+
+        /** Flag set by a text appearance with `android:textAllCaps` */
+        private var mTextAllCaps: Boolean = false
 
-        /** Positioning of text */
-        private var mTextYPosition = -1f
-        private var mTextXPosition = -1f
+        /** Room needed by the text shadow set by a text appearance */
+        private var mTextShadowPadding: Float = 0f
+
+        /** Region covered by the text, used to invalidate it only when needed */
+        private val mTextBounds: Rect = Rect()
+
+        /** Region invalidated while dragging, reused to avoid allocations */
+        private val mDirtyRect: Rect = Rect()
 
         /** Private size for the text message */
         private var mTextSize: Int = 0
             set(value) {
                 field = value
-                mTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, mTextSize.toFloat())
-                mTextPaint.set(mTextView.paint)
+                mTextPaint.textSize = value.toFloat()
+                updateTextToDraw()
             }
 
         /** Slider cursor position in percentage (between 0f and 1f) */
-        private var mPositionPerc: Float = 0f
+        private val mPositionPerc: Float
+            get() = mState.positionPerc
 
         /** 1/mPositionPerc */
-        private var mPositionPercInv: Float = 1f
+        private val mPositionPercInv: Float
+            get() = mState.positionPercInv
 
         // -------------------- ICONS --------------------
 
         private val mIconMargin: Int
 
         /** Margin for Arrow Icon */
-        private var mArrowMargin: Int
+        private var mArrowMargin: Int = 0
+            set(value) {
+                field = value
+                mBoundsDirty = true
+            }
 
         /** Current angle for Arrow Icon */
         private var mArrowAngle: Float = 0f
 
         /** Margin for Tick Icon */
-        private var mTickMargin: Int
+        private var mTickMargin: Int = 0
+            set(value) {
+                field = value
+                mBoundsDirty = true
+            }
 
         /** Arrow drawable */
         private lateinit var mDrawableArrow: Drawable
 
-        /** Tick drawable, if is an AnimatedVectorDrawable it will be animated */
-        private var mDrawableTick: Drawable
+        /**
+         * Tick drawable, if is an AnimatedVectorDrawable it will be animated.
+         * It's loaded on first use with [tickDrawable] and released when the view is detached.
+         */
+        private var mDrawableTick: Drawable? = null
         private var mFlagDrawTick: Boolean = false
 
+        /** Complete icon, loaded only when the slider completes, see [preloadCompleteIcon] */
         @DrawableRes
         var completeIcon: Int = 0
             set(value) {
-                field = value
-                if (field != 0) {
-                    mDrawableTick = loadIconCompat(context, value)
+                if (value != 0) {
+                    field = value
+                    // The new icon is loaded when it's drawn again.
+                    releaseTickDrawable()
                     invalidate()
                 }
             }
@@ -246,14 +404,25 @@ class SlideToActView
         /** Paint used for outer elements */
         private val mOuterPaint: Paint = Paint(Paint.ANTI_ALIAS_FLAG)
 
+        /** Paint used for the track fill, see [fillColor] */
+        private val mFillPaint: Paint = Paint(Paint.ANTI_ALIAS_FLAG)
+
         /** Paint used for inner elements */
         private val mInnerPaint: Paint = Paint(Paint.ANTI_ALIAS_FLAG)
 
         /** Paint used for text elements */
-        private var mTextPaint: Paint = Paint(Paint.ANTI_ALIAS_FLAG)
+        private val mTextPaint: TextPaint = TextPaint(Paint.ANTI_ALIAS_FLAG)
+
+        /** Paint used for the spinner drawn while the complete action is pending */
+        private val mSpinnerPaint: Paint =
+            Paint(Paint.ANTI_ALIAS_FLAG).apply {
+                // The receiver is explicit, as `style` is also a constructor parameter.
+                this.style = Paint.Style.STROKE
+                strokeCap = Paint.Cap.ROUND
+            }
 
-        /** TextView used for text elements */
-        private var mTextView: TextView
+        /** Bounds of the pending spinner, reused on every frame */
+        private val mSpinnerRect = RectF()
 
         /** Inner rectangle (used for arrow rotation) */
         private var mInnerRect: RectF
@@ -261,30 +430,129 @@ class SlideToActView
         /** Outer rectangle (used for area drawing) */
         private var mOuterRect: RectF
 
-        /** Grace value, when mPositionPerc > mGraceValue slider will perform the 'complete' operations */
-        private val mGraceValue: Float = 0.8F
+        /** Flag to recompute rectangles and drawable bounds on the next draw */
+        private var mBoundsDirty: Boolean = true
+
+        /** Bounds of the whole view, used for the track layer */
+        private val mViewBounds: Rect = Rect()
+
+        /** Cached layers for the outer area and the text, see [isLayeredRendering] */
+        private val mTrackLayer = SlideToActLayer("SlideToActTrack")
+        private val mLabelLayer = SlideToActLayer("SlideToActLabel")
+        private val mTrackRecorder = SlideToActLayer.Recorder { drawTrack(it) }
+        private val mLabelRecorder = SlideToActLayer.Recorder { drawLabel(it, 255) }
+
+        /** Layout of the label, rebuilt only when the text, the paint or the size change */
+        private val mLabel =
+            SlideToActLabel(this, mTextPaint) {
+                updateTextBounds()
+                if (!mIsBinding) {
+                    invalidate()
+                }
+            }
 
-        /** Last X coordinate for the touch event */
-        private var mLastX: Float = 0F
+        /** Max number of lines of the label, the last one is ellipsized (API 23+) */
+        var textMaxLines: Int
+            get() = mLabel.maxLines
+            set(value) {
+                mLabel.maxLines = value
+            }
 
-        /** Flag to understand if user is moving the slider cursor */
-        private var mFlagMoving: Boolean = false
+        /**
+         * Public flag to record the outer area and the text into cached layers, that are
+         * recorded once per size or style change. While dragging only the cursor is drawn again
+         * and the text fading is applied as a layer alpha.
+         */
+        var isLayeredRendering: Boolean = false
+            set(value) {
+                field = value
+                if (!value) {
+                    mTrackLayer.release()
+                    mLabelLayer.release()
+                }
+                invalidate()
+            }
 
         /** Private flag to check if the slide gesture have been completed */
-        private var mIsCompleted = false
+        private var mIsCompleted: Boolean
+            get() = mState.isCompleted
+            set(value) {
+                mState.isCompleted = value
+            }
+
+        /**
+         * Tracker of the pointer velocity, used by flings and to retarget the release animation.
+         * Obtained on every down event and recycled on release or when the view is detached.
+         */
+        private var mVelocityTracker: VelocityTracker? = null
+
+        /** Max velocity of a fling, from the system configuration */
+        private val mMaxFlingVelocity: Float =
+            ViewConfiguration.get(context).scaledMaximumFlingVelocity.toFloat()
+
+        /**
+         * Grace value, when the cursor is released after this position (in percentage
+         * [0f,1f]) the slider will perform the 'complete' operations. Defaults to 0.8.
+         */
+        var graceValue: Float
+            get() = mState.graceValue
+            set(value) {
+                mState.graceValue = value
+            }
+
+        /**
+         * Min velocity (in pixels per second) of a fling towards the end that completes the
+         * slider, even if released before the [graceValue]. The slider projects where the
+         * cursor would land and completes if it lands after the [graceValue].
+         * Defaults to 0, that disables the fling completion.
+         */
+        var flingVelocityThreshold: Float
+            get() = mState.flingVelocityThreshold
+            set(value) {
+                mState.flingVelocityThreshold = value
+            }
+
+        /** Id of the pointer that drives the cursor, secondary pointers are ignored */
+        private var mActivePointerId: Int = MotionEvent.INVALID_POINTER_ID
 
         /** Private flag to check if the touch events should be handled or not */
         private var mIsRespondingToTouchEvents = true
 
+        /** Position (in percentage [0f,1f]) to restore once the view is measured, see [bind] */
+        private var mPendingPositionPerc = 0f
+
+        /** Action run when the user completes the slide, see [setCompleteAction] */
+        private var mCompleteAction: CompleteAction? = null
+
+        /** Private flag set while the complete action is running */
+        private var mIsPending = false
+
+        /** Job of the running complete action, cancelled if the action is abandoned */
+        private var mActionJob: Job? = null
+
+        /** Scope of the suspending complete actions, cancelled when the view is detached */
+        private var mActionScope: CoroutineScope? = null
+
+        /** Incremented when a pending action is abandoned, so its late result is ignored */
+        private var mActionGeneration = 0
+
+        /** True while the action set with [setCompleteAction] is running */
+        val isPending: Boolean
+            get() = mIsPending
+
         /** Public flag to lock the slider */
-        var isLocked = false
+        var isLocked: Boolean
+            get() = mState.isLocked
+            set(value) {
+                mState.isLocked = value
+            }
 
         /** Public flag to reverse the slider by 180 degree */
-        var isReversed = false
+        var isReversed: Boolean
+            get() = mState.isReversed
             set(value) {
-                field = value
-                // We reassign the position field to trigger the re-computation of the effective position.
-                mPosition = mPosition
+                mState.isReversed = value
+                mBoundsDirty = true
                 invalidate()
             }
 
@@ -299,11 +567,129 @@ class SlideToActView
         var onSlideCompleteListener: OnSlideCompleteListener? = null
         var onSlideResetListener: OnSlideResetListener? = null
         var onSlideUserFailedListener: OnSlideUserFailedListener? = null
+        var onSlideActionFailedListener: OnSlideActionFailedListener? = null
+
+        /** Listener notified of the progress of the cursor, at most once per frame */
+        var onSlideProgressListener: OnSlideProgressListener? = null
+
+        /** Backing flow of [progressFlow], created on first access */
+        private var mProgressFlow: MutableStateFlow<Float>? = null
+
+        /**
+         * Progress of the cursor (in percentage [0f,1f]) as a [StateFlow]. It's updated at most
+         * once per frame, like [onSlideProgressListener], and it can be shared by any number of
+         * collectors.
+         */
+        val progressFlow: StateFlow<Float>
+            get() = mProgressFlow ?: MutableStateFlow(mPositionPerc).also { mProgressFlow = it }
+
+        /** Last progress dispatched to the listener and the flow */
+        private var mDispatchedProgress = 0f
+
+        /** Private flag set while a progress dispatch is waiting for the next frame */
+        private var mIsProgressScheduled = false
+
+        private val mProgressDispatch = Runnable { dispatchProgress() }
+
+        /**
+         * Listener that receives the trajectory of every gesture that grabbed the cursor.
+         * Samples are recorded only while a listener is set.
+         */
+        var onSlideGestureListener: OnSlideGestureListener? = null
+            set(value) {
+                field = value
+                if (value == null) {
+                    mGestureRecorder = null
+                } else if (mGestureRecorder == null) {
+                    mGestureRecorder = SlideToActGestureRecorder()
+                }
+            }
 
-        private var bounceAnimator: ValueAnimator =
+        /** Ring buffer of the samples of the current gesture, see [onSlideGestureListener] */
+        private var mGestureRecorder: SlideToActGestureRecorder? = null
+
+        /** Bounce animator, its listeners are registered once and it is restarted on resume */
+        private val mBounceAnimator: ValueAnimator =
             ValueAnimator.ofInt(
                 0, 50, 0, 20, 0, 5, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
-            )
+            ).apply {
+                repeatMode = ValueAnimator.RESTART
+                startDelay = 1000
+                addUpdateListener {
+                    mPosition = (it.animatedValue as Int).toFloat()
+                    invalidate()
+                }
+                addListener(
+                    object : AnimatorListenerAdapter() {
+                        private var isCancelled = false
+
+                        override fun onAnimationStart(animation: Animator) {
+                            isCancelled = false
+                        }
+
+                        override fun onAnimationCancel(animation: Animator) {
+                            isCancelled = true
+                        }
+
+                        override fun onAnimationEnd(animation: Animator) {
+                            // A bounce that played all its repetitions is not resumed again.
+                            if (!isCancelled) {
+                                mIsBounceRequested = false
+                            }
+                        }
+                    },
+                )
+            }
+
+        /** True from [startBounceAnimation] until the bounce is stopped or plays to the end */
+        private var mIsBounceRequested: Boolean = false
+
+        /** True if the view is visible, in a visible window, and not scrolled offscreen */
+        private var mIsVisibleOnScreen: Boolean = true
+
+        /** Shimmer animator, it moves [mShimmerShader] across the text */
+        private val mShimmerAnimator: ValueAnimator =
+            ValueAnimator.ofFloat(0f, 1f).apply {
+                repeatCount = ValueAnimator.INFINITE
+                repeatMode = ValueAnimator.RESTART
+                interpolator = LinearInterpolator()
+                startDelay = 1000
+                // The fraction is a primitive float, so a frame doesn't box any value.
+                addUpdateListener { updateShimmerFrame(it.animatedFraction) }
+            }
+
+        /** True from [startShimmerAnimation] until the shimmer is stopped */
+        private var mIsShimmerRequested: Boolean = false
+
+        /** Gradient set on the text paint while shimmering, allocated only when the text changes */
+        private var mShimmerShader: LinearGradient? = null
+
+        /** Matrix that translates [mShimmerShader], reused on every frame */
+        private val mShimmerMatrix: Matrix = Matrix()
+
+        /** Width of the shimmer band (in pixels) */
+        private var mShimmerBandWidth: Float = 0f
+
+        /** Color of the shimmer band, transparent to derive it from the text color */
+        @ColorInt
+        private var mShimmerColor: Int = Color.TRANSPARENT
+
+        /** Private flag to start the shimmer animation on start */
+        private var mStartShimmerAnimation: Boolean = false
+
+        /** Duration of a single shimmer across the text */
+        private var mShimmerAnimationDuration: Long = 0
+
+        /** Region of the view visible on screen, reused to avoid allocations */
+        private val mVisibleRect: Rect = Rect()
+
+        /** Pauses the hints while the view is scrolled offscreen, e.g. in a ScrollView */
+        private val mBounceScrollListener =
+            ViewTreeObserver.OnScrollChangedListener {
+                if (mIsBounceRequested || mIsShimmerRequested) {
+                    updateHintVisibility(isShown && getGlobalVisibleRect(mVisibleRect))
+                }
+            }
 
         /** Public flag to enable bounce animation */
         private var mStartBounceAnimation: Boolean = false
@@ -314,167 +700,315 @@ class SlideToActView
         /** Public flag to set bounce animation repeat time, default value infinity */
         private var mBounceAnimationRepeat: Int = 0
 
-        init {
-            val actualOuterColor: Int
-            val actualInnerColor: Int
-            val actualTextColor: Int
-            val actualIconColor: Int
-
-            val actualCompleteDrawable: Int
-
-            mTextView = TextView(context)
-            mTextPaint = mTextView.paint
-
-            val attrs: TypedArray =
-                context.theme.obtainStyledAttributes(
-                    xmlAttrs,
-                    R.styleable.SlideToActView,
-                    defStyleAttr,
-                    R.style.SlideToActView,
+        // -------------------- ANIMATIONS --------------------
+
+        /** Values captured when an animation starts, read by the timeline segments below */
+        private var mAnimFromPosition: Float = 0f
+        private var mAnimFromMargin: Int = 0
+        private var mAnimToMargin: Int = 0
+        private var mAnimFromAreaWidth: Int = 0
+        private var mAnimFromTickMargin: Int = 0
+        private var mAnimFromArrowMargin: Int = 0
+
+        /** Single engine advancing every complete/reset/snap-back animation of this slider */
+        private val mTimeline = SlideToActTimeline(this)
+
+        /** Interpolator of the position segments, it starts with the velocity of the cursor */
+        private val mPositionInterpolator = SlideToActTimeline.ContinuousInterpolator()
+
+        /** Velocity of the cursor moved by the timeline (in pixels per second) */
+        private var mPositionVelocity: Float = 0f
+
+        /** Metrics of this slider, allocated only when [isMetricsEnabled] is true */
+        private var mMetrics: SlideToActMetrics? = null
+
+        /**
+         * Tracer notified of the drawables drawn by [onDraw], set by the recorder of the
+         * `slidetoact-testing` artifact. Only debug builds of the library read it.
+         */
+        @get:RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+        @set:RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+        var drawTracer: SlideToActDrawTracer? = null
+
+        /** Time between two vsync of the display, to detect animation frames over budget */
+        private var mFrameBudgetNanos: Long = DEFAULT_FRAME_BUDGET_NANOS
+
+        private val mMetricsFrameObserver =
+            SlideToActTimeline.FrameObserver {
+                mMetrics?.onAnimationFrame(it, mFrameBudgetNanos)
+            }
+
+        private val mMetricsReport =
+            Runnable {
+                val metrics = mMetrics ?: return@Runnable
+                onMetricsListener?.onMetrics(this, metrics.snapshot())
+                scheduleMetricsReport()
+            }
+
+        /**
+         * Public flag to collect frame and gesture metrics of this slider, see [metricsSnapshot].
+         * Metrics are collected in pre-allocated structures, so collecting them doesn't allocate.
+         */
+        var isMetricsEnabled: Boolean
+            get() = mMetrics != null
+            set(value) {
+                if (value == isMetricsEnabled) {
+                    return
+                }
+                mMetrics = if (value) SlideToActMetrics() else null
+                mTimeline.frameObserver = if (value) mMetricsFrameObserver else null
+                scheduleMetricsReport()
+            }
+
+        /** Listener that periodically receives the metrics, if [isMetricsEnabled] is true */
+        var onMetricsListener: OnMetricsListener? = null
+            set(value) {
+                field = value
+                scheduleMetricsReport()
+            }
+
+        /** Interval (in milliseconds) between two reports to the [onMetricsListener] */
+        var metricsReportInterval: Long = DEFAULT_METRICS_REPORT_INTERVAL
+            set(value) {
+                field = value
+                scheduleMetricsReport()
+            }
+
+        /** Segments of the complete animation. They update the state, the timeline invalidates. */
+        private val mCompletePositionSegment =
+            SlideToActTimeline.Segment {
+                setAnimatedPosition(
+                    lerp(mAnimFromPosition, (mAreaWidth - mAreaHeight).toFloat(), it),
                 )
-            try {
-                mDesiredSliderHeight =
-                    TypedValue.applyDimension(
-                        TypedValue.COMPLEX_UNIT_DIP,
-                        mDesiredSliderHeightDp,
-                        resources.displayMetrics,
-                    ).toInt()
-                mDesiredSliderWidth =
-                    TypedValue.applyDimension(
-                        TypedValue.COMPLEX_UNIT_DIP,
-                        mDesiredSliderWidthDp,
-                        resources.displayMetrics,
-                    ).toInt()
-
-                val defaultOuter =
-                    ContextCompat.getColor(
-                        this.context,
-                        R.color.slidetoact_defaultAccent,
-                    )
-                val defaultWhite =
-                    ContextCompat.getColor(
-                        this.context,
-                        R.color.slidetoact_white,
+            }
+        private val mCompleteMarginSegment =
+            SlideToActTimeline.Segment {
+                // Segment that bounce away the cursors
+                mActualAreaMargin = lerp(mAnimFromMargin, mAnimToMargin, it)
+            }
+        private val mCompleteAreaSegment =
+            SlideToActTimeline.Segment {
+                // Segment that reduces the outer area (to right)
+                mActualAreaWidth = lerp(mAnimFromAreaWidth, (mAreaWidth - mAreaHeight) / 2, it)
+                if (Build.VERSION.SDK_INT >= 21) {
+                    invalidateOutline()
+                }
+            }
+        private val mCompleteTickSegment =
+            SlideToActTimeline.Segment {
+                // We need to enable the drawing of the AnimatedVectorDrawable before starting it.
+                val isFirstFrame = !mFlagDrawTick
+                if (isFirstFrame) {
+                    mFlagDrawTick = true
+                    mTickMargin = mIconMargin
+                }
+                updateIconAnimation(tickDrawable(), it, isFirstFrame)
+            }
+
+        /** Segments of the reset animation. They update the state, the timeline invalidates. */
+        private val mResetTickSegment =
+            SlideToActTimeline.Segment {
+                // Segment that reduces the tick size
+                mTickMargin = lerp(mAnimFromTickMargin, mAreaWidth / 2, it)
+            }
+        private val mResetAreaSegment =
+            SlideToActTimeline.Segment {
+                // Segment that enlarges the outer area
+                // Now we can hide the tick till the next complete
+                mFlagDrawTick = false
+                mActualAreaWidth = lerp(mAnimFromAreaWidth, 0, it)
+                if (Build.VERSION.SDK_INT >= 21) {
+                    invalidateOutline()
+                }
+            }
+        private val mResetPositionSegment =
+            SlideToActTimeline.Segment {
+                setAnimatedPosition(lerp(mAnimFromPosition, 0f, it))
+            }
+        private val mResetMarginSegment =
+            SlideToActTimeline.Segment {
+                // Segment that re-draw the cursors
+                mActualAreaMargin = lerp(mAnimFromMargin, mOriginAreaMargin, it)
+            }
+        private val mResetArrowSegment =
+            SlideToActTimeline.Segment {
+                // Segment that makes the arrow appear
+                mArrowMargin = lerp(mAnimFromArrowMargin, mIconMargin, it)
+            }
+
+        private val mCompleteListener =
+            object : SlideToActTimeline.Listener {
+                override fun onTimelineStart() {
+                    onSlideToActAnimationEventListener?.onSlideCompleteAnimationStarted(
+                        this@SlideToActView,
+                        mPositionPerc,
                     )
+                }
 
-                with(attrs) {
-                    mDesiredSliderHeight =
-                        getDimensionPixelSize(
-                            R.styleable.SlideToActView_slider_height,
-                            mDesiredSliderHeight,
-                        )
-                    mBorderRadius = getDimensionPixelSize(R.styleable.SlideToActView_border_radius, -1)
-
-                    actualOuterColor = getColor(R.styleable.SlideToActView_outer_color, defaultOuter)
-                    actualInnerColor = getColor(R.styleable.SlideToActView_inner_color, defaultWhite)
-
-                    // For text color, check if the `text_color` is set.
-                    // if not check if the `outer_color` is set.
-                    // if not, default to white.
-                    actualTextColor =
-                        when {
-                            hasValue(R.styleable.SlideToActView_text_color) ->
-                                getColor(R.styleable.SlideToActView_text_color, defaultWhite)
-                            hasValue(R.styleable.SlideToActView_inner_color) -> actualInnerColor
-                            else -> defaultWhite
-                        }
+                override fun onTimelineEnd() {
+                    onCompleteAnimationEnded()
+                }
+            }
 
-                    text = getString(R.styleable.SlideToActView_text) ?: ""
-                    typeFace = getInt(R.styleable.SlideToActView_text_style, 0)
-                    mTextSize =
-                        getDimensionPixelSize(
-                            R.styleable.SlideToActView_text_size,
-                            resources.getDimensionPixelSize(R.dimen.slidetoact_default_text_size),
-                        )
-                    textColor = actualTextColor
-
-                    // TextAppearance is the last as will have precedence over everything text related.
-                    textAppearance = getResourceId(R.styleable.SlideToActView_text_appearance, 0)
-
-                    isLocked = getBoolean(R.styleable.SlideToActView_slider_locked, false)
-                    isReversed = getBoolean(R.styleable.SlideToActView_slider_reversed, false)
-                    isRotateIcon = getBoolean(R.styleable.SlideToActView_rotate_icon, true)
-                    isAnimateCompletion =
-                        getBoolean(
-                            R.styleable.SlideToActView_animate_completion,
-                            true,
-                        )
-                    animDuration =
-                        getInteger(
-                            R.styleable.SlideToActView_animation_duration,
-                            300,
-                        ).toLong()
-                    bumpVibration =
-                        getInt(
-                            R.styleable.SlideToActView_bump_vibration,
-                            0,
-                        ).toLong()
-
-                    mOriginAreaMargin =
-                        getDimensionPixelSize(
-                            R.styleable.SlideToActView_area_margin,
-                            resources.getDimensionPixelSize(R.dimen.slidetoact_default_area_margin),
-                        )
-                    mActualAreaMargin = mOriginAreaMargin
+        /** Listener of the complete animation when an action has to run before the tick */
+        private val mCompletePendingListener =
+            object : SlideToActTimeline.Listener {
+                override fun onTimelineStart() {
+                    mCompleteListener.onTimelineStart()
+                }
 
-                    sliderIcon =
-                        getResourceId(
-                            R.styleable.SlideToActView_slider_icon,
-                            R.drawable.slidetoact_ic_arrow,
-                        )
+                override fun onTimelineEnd() {
+                    startCompleteAction()
+                }
+            }
 
-                    // For icon color. check if the `slide_icon_color` is set.
-                    // if not check if the `outer_color` is set.
-                    // if not, default to defaultOuter.
-                    actualIconColor =
-                        when {
-                            hasValue(R.styleable.SlideToActView_slider_icon_color) ->
-                                getColor(R.styleable.SlideToActView_slider_icon_color, defaultOuter)
-                            hasValue(R.styleable.SlideToActView_outer_color) -> actualOuterColor
-                            else -> defaultOuter
-                        }
-                    actualCompleteDrawable =
-                        getResourceId(
-                            R.styleable.SlideToActView_complete_icon,
-                            R.drawable.slidetoact_animated_ic_check,
-                        )
+        /** Listener of the tick animation, played once the complete action succeeded */
+        private val mCompleteTickListener =
+            object : SlideToActTimeline.Listener {
+                override fun onTimelineStart() {
+                }
 
-                    mIconMargin =
-                        getDimensionPixelSize(
-                            R.styleable.SlideToActView_icon_margin,
-                            resources.getDimensionPixelSize(R.dimen.slidetoact_default_icon_margin),
-                        )
+                override fun onTimelineEnd() {
+                    onCompleteAnimationEnded()
+                }
+            }
 
-                    mArrowMargin = mIconMargin
-                    mTickMargin = mIconMargin
+        private val mResetListener =
+            object : SlideToActTimeline.Listener {
+                override fun onTimelineStart() {
+                    onSlideToActAnimationEventListener?.onSlideResetAnimationStarted(
+                        this@SlideToActView,
+                    )
+                }
+
+                override fun onTimelineEnd() {
+                    mIsRespondingToTouchEvents = true
+                    mDrawableTick?.let { stopIconAnimation(it) }
+                    onSlideToActAnimationEventListener?.onSlideResetAnimationEnded(
+                        this@SlideToActView,
+                    )
+                    onSlideResetListener?.onSlideReset(this@SlideToActView)
+                }
 
-                    mIsCompleted = getBoolean(R.styleable.SlideToActView_state_complete, false)
+                override fun onTimelineInterrupt() {
+                    // The reset was reported as started, so its end is reported too.
+                    onSlideToActAnimationEventListener?.onSlideResetAnimationEnded(
+                        this@SlideToActView,
+                    )
+                }
+            }
 
-                    mStartBounceAnimation =
-                        getBoolean(
-                            R.styleable.SlideToActView_bounce_on_start,
-                            false,
-                        )
-                    mBounceAnimationDuration =
-                        getInteger(
-                            R.styleable.SlideToActView_bounce_duration,
-                            2000,
-                        ).toLong()
-                    mBounceAnimationRepeat =
-                        getInteger(
-                            R.styleable.SlideToActView_bounce_repeat,
-                            ValueAnimator.INFINITE,
-                        )
+        private val mNoOpListener =
+            object : SlideToActTimeline.Listener {
+                override fun onTimelineStart() {
                 }
-            } finally {
-                attrs.recycle()
+
+                override fun onTimelineEnd() {
+                }
+            }
+
+        /** Sequences played by the timeline, built once and reused for every gesture */
+        private val mCompleteSequence =
+            SlideToActTimeline.Sequence(mCompleteListener).apply {
+                add(mCompletePositionSegment, mPositionInterpolator)
+                add(mCompleteMarginSegment, AnticipateOvershootInterpolator(2f))
+                add(mCompleteAreaSegment)
+                add(mCompleteTickSegment)
+            }
+        private val mCompleteOnlyPositionSequence =
+            SlideToActTimeline.Sequence(mCompleteListener).apply {
+                add(mCompletePositionSegment, mPositionInterpolator)
+            }
+
+        /** Complete sequences that stop before the tick, while the complete action runs */
+        private val mCompletePendingSequence =
+            SlideToActTimeline.Sequence(mCompletePendingListener).apply {
+                add(mCompletePositionSegment, mPositionInterpolator)
+                add(mCompleteMarginSegment, AnticipateOvershootInterpolator(2f))
+                add(mCompleteAreaSegment)
             }
+        private val mCompletePendingOnlyPositionSequence =
+            SlideToActTimeline.Sequence(mCompletePendingListener).apply {
+                add(mCompletePositionSegment, mPositionInterpolator)
+            }
+        private val mCompleteTickSequence =
+            SlideToActTimeline.Sequence(mCompleteTickListener).apply {
+                add(mCompleteTickSegment)
+            }
+        private val mResetSequence =
+            SlideToActTimeline.Sequence(mResetListener).apply {
+                add(mResetTickSegment)
+                add(mResetAreaSegment)
+                add(mResetPositionSegment, mPositionInterpolator)
+                add(mResetMarginSegment, OvershootInterpolator(2f))
+                add(mResetArrowSegment)
+            }
+        private val mResetOnlyPositionSequence =
+            SlideToActTimeline.Sequence(mResetListener).apply {
+                add(mResetPositionSegment, mPositionInterpolator)
+            }
+
+        /** Sequence that brings the cursor back when the user releases it before the grace value */
+        private val mSnapBackSequence =
+            SlideToActTimeline.Sequence(mNoOpListener).apply {
+                add(mResetPositionSegment, mPositionInterpolator)
+            }
+
+        init {
+            // Sliders sharing the same theme and style share the resolved attributes too.
+            val resolved = style ?: SlideToActStyle.obtain(context, xmlAttrs, defStyleAttr)
+
+            mDesiredSliderHeight = resolved.sliderHeight
+            mDesiredSliderWidth = resolved.sliderWidth
+            mBorderRadius = resolved.borderRadius
+
+            // The text paint is copied from the template, with the text appearance already applied.
+            textColor = resolved.textColor
+            mTextSize = resolved.textSize
+            mTypeFace = resolved.textStyle
+            mTextAppearance = resolved.textAppearance
+            mTextPaint.set(resolved.textPaint)
+            mTextAllCaps = resolved.textAllCaps
+            mTextShadowPadding = resolved.textShadowPadding
+            textMaxLines = resolved.textMaxLines
+            text = resolved.text
+
+            isLocked = resolved.isLocked
+            graceValue = resolved.graceValue
+            flingVelocityThreshold = resolved.flingVelocityThreshold
+            isLayeredRendering = resolved.isLayeredRendering
+            isMetricsEnabled = resolved.isMetricsEnabled
+            isReversed = resolved.isReversed
+            isRotateIcon = resolved.isRotateIcon
+            isAnimateCompletion = resolved.isAnimateCompletion
+            animDuration = resolved.animDuration
+            bumpVibration = resolved.bumpVibration
+            hapticDetents = resolved.hapticDetents
+
+            mOriginAreaMargin = resolved.areaMargin
+            mActualAreaMargin = mOriginAreaMargin
+
+            sliderIcon = resolved.sliderIcon
+
+            mIconMargin = resolved.iconMargin
+            mArrowMargin = mIconMargin
+            mTickMargin = mIconMargin
+
+            mIsCompleted = resolved.isCompleted
+
+            mStartBounceAnimation = resolved.isBounceOnStart
+            mBounceAnimationDuration = resolved.bounceDuration
+            mBounceAnimationRepeat = resolved.bounceRepeat
+
+            mStartShimmerAnimation = resolved.isShimmerOnStart
+            mShimmerAnimationDuration = resolved.shimmerDuration
+            mShimmerColor = resolved.shimmerColor
 
             mInnerRect =
                 RectF(
-                    (mActualAreaMargin + mEffectivePosition).toFloat(),
+                    mActualAreaMargin + mEffectivePosition,
                     mActualAreaMargin.toFloat(),
-                    (mAreaHeight + mEffectivePosition).toFloat() - mActualAreaMargin.toFloat(),
+                    mAreaHeight + mEffectivePosition - mActualAreaMargin,
                     mAreaHeight.toFloat() - mActualAreaMargin.toFloat(),
                 )
 
@@ -486,13 +1020,12 @@ class SlideToActView
                     mAreaHeight.toFloat(),
                 )
 
-            mDrawableTick = loadIconCompat(context, actualCompleteDrawable)
+            completeIcon = resolved.completeIcon
 
-            mTextPaint.textAlign = Paint.Align.CENTER
-
-            outerColor = actualOuterColor
-            innerColor = actualInnerColor
-            iconColor = actualIconColor
+            outerColor = resolved.outerColor
+            innerColor = resolved.innerColor
+            iconColor = resolved.iconColor
+            fillColor = resolved.fillColor
 
             // This outline provider force removal of shadow
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
@@ -501,6 +1034,9 @@ class SlideToActView
             if (mStartBounceAnimation) {
                 startBounceAnimation(mBounceAnimationDuration, mBounceAnimationRepeat)
             }
+            if (mStartShimmerAnimation) {
+                startShimmerAnimation(mShimmerAnimationDuration)
+            }
 
             // Accessibility related setup
             isClickable = true
@@ -563,64 +1099,62 @@ class SlideToActView
             oldw: Int,
             oldh: Int,
         ) {
-            mAreaWidth = w
-            mAreaHeight = h
+            mState.setSize(w, h)
+            mViewBounds.set(0, 0, w, h)
+            mTrackLayer.invalidate()
             if (mBorderRadius == -1) {
                 // Round if not set up
                 mBorderRadius = h / 2
             }
 
-            // Text horizontal/vertical positioning (both centered)
-            mTextXPosition = mAreaWidth.toFloat() / 2
-            mTextYPosition = (mAreaHeight.toFloat() / 2) -
-                (mTextPaint.descent() + mTextPaint.ascent()) / 2
+            // The label is centered, and it's not covered by the cursor at the start.
+            mLabel.setWidth(max(mAreaWidth - 2 * mAreaHeight, mAreaWidth / 2))
+            updateTextBounds()
 
             // Make sure the position is recomputed.
-            mPosition = 0
+            mPosition = 0f
+            mBoundsDirty = true
 
             // Set state to complete if needed
             setCompletedNotAnimated(mIsCompleted)
+            if (!mIsCompleted && mPendingPositionPerc > 0f) {
+                mPosition = mPendingPositionPerc * (mAreaWidth - mAreaHeight)
+            }
+            mPendingPositionPerc = 0f
         }
 
         override fun onDraw(canvas: Canvas) {
             super.onDraw(canvas)
+            val drawStartNanos = if (mMetrics != null) System.nanoTime() else 0L
 
-            // Outer area
-            mOuterRect.set(
-                mActualAreaWidth.toFloat(),
-                0f,
-                mAreaWidth.toFloat() - mActualAreaWidth.toFloat(),
-                mAreaHeight.toFloat(),
-            )
-            canvas.drawRoundRect(
-                mOuterRect,
-                mBorderRadius.toFloat(),
-                mBorderRadius.toFloat(),
-                mOuterPaint,
-            )
+            if (mBoundsDirty) {
+                updateBounds()
+            }
 
-            // Text alpha
-            mTextPaint.alpha = (255 * mPositionPercInv).toInt()
-            // Checking if the TextView has a Transformation method applied (e.g. AllCaps).
-            val textToDraw = mTextView.transformationMethod?.getTransformation(text, mTextView) ?: text
-            canvas.drawText(
-                textToDraw,
-                0,
-                textToDraw.length,
-                mTextXPosition,
-                mTextYPosition,
-                mTextPaint,
-            )
+            if (isLayeredRendering) {
+                // The outer area is static only while the slider is not collapsing.
+                if (mActualAreaWidth == 0) {
+                    mTrackLayer.draw(canvas, mViewBounds, 255, mTrackRecorder)
+                } else {
+                    drawTrack(canvas)
+                }
+                drawFill(canvas)
+                if (mShimmerAnimator.isStarted) {
+                    // The shimmer changes on every frame, there is nothing to cache.
+                    drawLabel(canvas, textAlpha())
+                } else {
+                    // Text fading is applied as layer alpha
+                    mLabelLayer.draw(canvas, mTextBounds, textAlpha(), mLabelRecorder)
+                }
+            } else {
+                drawTrack(canvas)
+                drawFill(canvas)
+                drawLabel(canvas, textAlpha())
+            }
 
             // Inner Cursor
             // ratio is used to compute the proper border radius for the inner rect (see #8).
             val ratio = (mAreaHeight - 2 * mActualAreaMargin).toFloat() / mAreaHeight.toFloat()
-            mInnerRect.set(
-                (mActualAreaMargin + mEffectivePosition).toFloat(),
-                mActualAreaMargin.toFloat(),
-                (mAreaHeight + mEffectivePosition).toFloat() - mActualAreaMargin.toFloat(),
-                mAreaHeight.toFloat() - mActualAreaMargin.toFloat(),
-            )
             canvas.drawRoundRect(
                 mInnerRect,
                 mBorderRadius.toFloat() * ratio,
@@ -628,61 +1162,466 @@ class SlideToActView
                 mInnerPaint,
             )
 
-            // Arrow angle
-            // We compute the rotation of the arrow and we apply .rotate transformation on the canvas.
+            // Release builds drop the tracer, BuildConfig.DEBUG is a false constant there.
+            val tracer = if (BuildConfig.DEBUG) drawTracer else null
+            if (mIsPending) {
+                // The spinner takes the place of the arrow while the action runs.
+                drawSpinner(canvas)
+            } else {
+                // Arrow angle
+                // We compute the rotation of the arrow and we apply .rotate transformation
+                // on the canvas.
+                canvas.save()
+                if (isReversed) {
+                    canvas.scale(-1F, 1F, mInnerRect.centerX(), mInnerRect.centerY())
+                }
+                if (isRotateIcon) {
+                    mArrowAngle = -180 * mPositionPerc
+                    canvas.rotate(mArrowAngle, mInnerRect.centerX(), mInnerRect.centerY())
+                }
+                if (mDrawableArrow.bounds.left <= mDrawableArrow.bounds.right &&
+                    mDrawableArrow.bounds.top <= mDrawableArrow.bounds.bottom
+                ) {
+                    tracer?.onDrawableDraw(mDrawableArrow)
+                    mDrawableArrow.draw(canvas)
+                }
+                canvas.restore()
+            }
+
+            // Tick drawing
+            if (mFlagDrawTick) {
+                val tick = tickDrawable()
+                tracer?.onDrawableDraw(tick)
+                tick.draw(canvas)
+            }
+
+            mMetrics?.onFrameDrawn(System.nanoTime() - drawStartNanos)
+        }
+
+        /**
+         * Private method to load the complete icon through the shared [SlideToActIconCache].
+         * The returned drawable is already mutated, so it can be tinted safely.
+         */
+        private fun loadTickIcon(
+            @DrawableRes resId: Int,
+        ): Drawable {
+            val icon =
+                SlideToActIconCache.getDrawable(context, resId, SlideToActIconUtil::loadIconCompat)
+            return (icon ?: loadIconCompat(context, resId)).mutate()
+        }
+
+        /**
+         * Private method to get the tick drawable, loading and tinting it on first use.
+         * Most sliders are never completed, so they never pay for the icon inflation.
+         */
+        private fun tickDrawable(): Drawable =
+            mDrawableTick ?: loadTickIcon(completeIcon).also {
+                tintIconCompat(it, innerColor)
+                updateTickBounds(it)
+                mDrawableTick = it
+            }
+
+        /** Private method to release the tick drawable, it will be loaded again if needed */
+        private fun releaseTickDrawable() {
+            mDrawableTick?.let { stopIconAnimation(it) }
+            mDrawableTick = null
+        }
+
+        /** Private method to draw the outer area */
+        private fun drawTrack(canvas: Canvas) {
+            canvas.drawRoundRect(
+                mOuterRect,
+                mBorderRadius.toFloat(),
+                mBorderRadius.toFloat(),
+                mOuterPaint,
+            )
+        }
+
+        /**
+         * Private method to draw the track fill. It's the outer area clipped at the center of
+         * the cursor, so it needs no extra geometry and allocates nothing.
+         */
+        private fun drawFill(canvas: Canvas) {
+            if (fillColor == Color.TRANSPARENT || mPosition <= 0f) {
+                return
+            }
+            mFillPaint.color = ColorUtils.blendARGB(outerColor, fillColor, mPositionPerc)
             canvas.save()
             if (isReversed) {
-                canvas.scale(-1F, 1F, mInnerRect.centerX(), mInnerRect.centerY())
+                canvas.clipRect(mInnerRect.centerX(), 0f, mOuterRect.right, mOuterRect.bottom)
+            } else {
+                canvas.clipRect(mOuterRect.left, 0f, mInnerRect.centerX(), mOuterRect.bottom)
             }
-            if (isRotateIcon) {
-                mArrowAngle = -180 * mPositionPerc
-                canvas.rotate(mArrowAngle, mInnerRect.centerX(), mInnerRect.centerY())
+            canvas.drawRoundRect(
+                mOuterRect,
+                mBorderRadius.toFloat(),
+                mBorderRadius.toFloat(),
+                mFillPaint,
+            )
+            canvas.restore()
+        }
+
+        /**
+         * Private method to draw the indeterminate spinner of a pending action. The arc is
+         * computed from the animation clock, so it needs no animator and allocates nothing.
+         */
+        private fun drawSpinner(canvas: Canvas) {
+            // Once collapsed, the spinner sits in the middle of the outer area like the tick.
+            val isCollapsed = mActualAreaWidth > 0
+            val centerX = if (isCollapsed) mOuterRect.centerX() else mInnerRect.centerX()
+            val centerY = mOuterRect.centerY()
+            val radius = mAreaHeight / 2f - mIconMargin
+            if (radius <= 0f) {
+                return
             }
+            mSpinnerPaint.color = if (isCollapsed) innerColor else iconColor
+            mSpinnerPaint.strokeWidth = radius / 4f
+            val arcRadius = radius - mSpinnerPaint.strokeWidth / 2f
+            mSpinnerRect.set(
+                centerX - arcRadius,
+                centerY - arcRadius,
+                centerX + arcRadius,
+                centerY + arcRadius,
+            )
+
+            val time = AnimationUtils.currentAnimationTimeMillis()
+            val rotation = (time % SPINNER_ROTATION_MS) * 360f / SPINNER_ROTATION_MS
+            // The arc grows and then shrinks back, as a material indeterminate progress.
+            val phase = (time % SPINNER_SWEEP_MS).toFloat() / SPINNER_SWEEP_MS
+            val grow = if (phase < 0.5f) phase * 2 else 2 - phase * 2
+            val sweep = lerp(SPINNER_MIN_SWEEP, SPINNER_MAX_SWEEP, grow)
+            canvas.drawArc(mSpinnerRect, rotation, sweep, false, mSpinnerPaint)
+
+            ViewCompat.postInvalidateOnAnimation(
+                this,
+                floor(centerX - radius).toInt(),
+                floor(centerY - radius).toInt(),
+                ceil(centerX + radius).toInt(),
+                ceil(centerY + radius).toInt(),
+            )
+        }
+
+        /** Private method to draw the text with the given alpha */
+        private fun drawLabel(
+            canvas: Canvas,
+            alpha: Int,
+        ) {
+            val layout = mLabel.layout ?: return
+            mTextPaint.alpha = alpha
+            canvas.translate(mTextLeft, mTextTop)
+            layout.draw(canvas)
+            canvas.translate(-mTextLeft, -mTextTop)
+        }
+
+        /**
+         * Private method to recompute the outer/inner rectangles and the bounds of the icons.
+         * Invoked from [onDraw] only when one of the values they depend on has changed, so that
+         * a frame where nothing moved does not touch them at all.
+         */
+        private fun updateBounds() {
+            mOuterRect.set(
+                mActualAreaWidth.toFloat(),
+                0f,
+                mAreaWidth.toFloat() - mActualAreaWidth.toFloat(),
+                mAreaHeight.toFloat(),
+            )
+            mInnerRect.set(
+                mActualAreaMargin + mEffectivePosition,
+                mActualAreaMargin.toFloat(),
+                mAreaHeight + mEffectivePosition - mActualAreaMargin,
+                mAreaHeight.toFloat() - mActualAreaMargin.toFloat(),
+            )
             mDrawableArrow.setBounds(
                 mInnerRect.left.toInt() + mArrowMargin,
                 mInnerRect.top.toInt() + mArrowMargin,
                 mInnerRect.right.toInt() - mArrowMargin,
                 mInnerRect.bottom.toInt() - mArrowMargin,
             )
-            if (mDrawableArrow.bounds.left <= mDrawableArrow.bounds.right &&
-                mDrawableArrow.bounds.top <= mDrawableArrow.bounds.bottom
-            ) {
-                mDrawableArrow.draw(canvas)
-            }
-            canvas.restore()
+            mDrawableTick?.let { updateTickBounds(it) }
+            mBoundsDirty = false
+        }
 
-            // Tick drawing
-            mDrawableTick.setBounds(
+        /** Private method to compute the bounds of the tick drawable */
+        private fun updateTickBounds(tick: Drawable) {
+            tick.setBounds(
                 mActualAreaWidth + mTickMargin,
                 mTickMargin,
                 mAreaWidth - mTickMargin - mActualAreaWidth,
                 mAreaHeight - mTickMargin,
             )
+        }
 
-            tintIconCompat(mDrawableTick, innerColor)
-            if (mFlagDrawTick) {
-                mDrawableTick.draw(canvas)
+        /** Alpha of the text, the text fades out while the cursor moves to the end */
+        private fun textAlpha(): Int = (255 * mPositionPercInv).toInt()
+
+        /**
+         * Private method to invalidate only the region affected by a cursor move: the union
+         * of the old and the new cursor, plus the text only if its alpha changed. This way the
+         * redraw cost depends on the cursor movement rather than on the width of the view.
+         *
+         * @param oldEffectivePosition The effective position of the cursor before the move
+         * @param oldTextAlpha The alpha of the text before the move
+         */
+        @Suppress("DEPRECATION")
+        private fun invalidateCursorMove(
+            oldEffectivePosition: Float,
+            oldTextAlpha: Int,
+        ) {
+            val cursorSize = mAreaHeight - 2 * mActualAreaMargin
+            val slop = (cursorSize * ARROW_ROTATION_SLOP).toInt() + 1
+            mDirtyRect.set(
+                mActualAreaMargin + floor(min(oldEffectivePosition, mEffectivePosition)).toInt() - slop,
+                0,
+                mActualAreaMargin + ceil(max(oldEffectivePosition, mEffectivePosition)).toInt() +
+                    cursorSize + slop,
+                mAreaHeight,
+            )
+            if (textAlpha() != oldTextAlpha) {
+                mDirtyRect.union(mTextBounds)
+            }
+            if (fillColor != Color.TRANSPARENT) {
+                // The color of the whole fill changes with the position.
+                if (isReversed) {
+                    mDirtyRect.union(mDirtyRect.right, 0, mAreaWidth, mAreaHeight)
+                } else {
+                    mDirtyRect.union(0, 0, mDirtyRect.left, mAreaHeight)
+                }
+            }
+            invalidate(mDirtyRect)
+        }
+
+        /**
+         * Private method to position the label layout and to compute the region covered by the
+         * text, including its shadow. Invoked every time the layout changes.
+         */
+        private fun updateTextBounds() {
+            val layout = mLabel.layout
+            if (layout == null) {
+                mTextBounds.setEmpty()
+            } else {
+                mTextLeft = (mAreaWidth - layout.width) / 2f
+                mTextTop = (mAreaHeight - layout.height) / 2f
+                val slop = mTextPaint.textSize * TEXT_SKEW_SLOP + mTextShadowPadding
+                mTextBounds.set(
+                    floor(mTextLeft - slop).toInt(),
+                    floor(mTextTop - mTextShadowPadding).toInt(),
+                    ceil(mTextLeft + layout.width + slop).toInt(),
+                    ceil(mTextTop + layout.height + mTextShadowPadding).toInt(),
+                )
+            }
+            mLabelLayer.invalidate()
+            if (mShimmerShader != null) {
+                updateShimmerShader()
+            }
+        }
+
+        /**
+         * Private method to cache the text that will be drawn. Applying the AllCaps
+         * transformation allocates a new String, so we do it only when the text or the
+         * text appearance changes and not on every frame. The label is laid out again.
+         */
+        private fun updateTextToDraw() {
+            mTextToDraw =
+                if (mTextAllCaps) {
+                    val locale = ConfigurationCompat.getLocales(resources.configuration)[0]
+                    text.toString().uppercase(locale ?: Locale.getDefault())
+                } else {
+                    text
+                }
+            mLabel.setText(mTextToDraw)
+        }
+
+        /**
+         * Private method to resolve a TextAppearance style directly into [mTextPaint].
+         * It applies the same attributes, with the same precedence, that a TextView would apply.
+         */
+        private fun applyTextAppearance(
+            @StyleRes resId: Int,
+        ) {
+            val appearance =
+                SlideToActTextStyler.applyTextAppearance(
+                    context,
+                    resId,
+                    mTextPaint,
+                    mTextSize,
+                    textColor,
+                )
+            appearance.allCaps?.let { mTextAllCaps = it }
+            appearance.shadowPadding?.let { mTextShadowPadding = it }
+        }
+
+        override fun onAttachedToWindow() {
+            super.onAttachedToWindow()
+            val refreshRate = ViewCompat.getDisplay(this)?.refreshRate ?: 0f
+            mFrameBudgetNanos =
+                if (refreshRate > 0f) {
+                    (1_000_000_000 / refreshRate).toLong()
+                } else {
+                    DEFAULT_FRAME_BUDGET_NANOS
+                }
+            scheduleMetricsReport()
+            viewTreeObserver.addOnScrollChangedListener(mBounceScrollListener)
+            updateHintAnimations()
+        }
+
+        override fun onDetachedFromWindow() {
+            super.onDetachedFromWindow()
+            if (abandonCompleteAction() || isPendingAnimationRunning()) {
+                // A detached view can't show the spinner: the action is cancelled, or never
+                // started if the cursor was still collapsing, and the slider goes back to start.
+                mTimeline.cancel()
+                setBaseState()
+            } else {
+                // Animations can't run on a detached view: we jump to their end, so listeners
+                // are still notified and the view doesn't leak through the animation callbacks.
+                mTimeline.end()
+            }
+            mActionScope?.cancel()
+            mActionScope = null
+            // The bounce is only paused, it resumes if the view is attached again.
+            viewTreeObserver.removeOnScrollChangedListener(mBounceScrollListener)
+            updateHintAnimations()
+            removeCallbacks(mMetricsReport)
+            removeCallbacks(mProgressDispatch)
+            mIsProgressScheduled = false
+            mVelocityTracker?.recycle()
+            mVelocityTracker = null
+            // Layers will be recorded again if the view is attached again.
+            mTrackLayer.release()
+            mLabelLayer.release()
+            // The tick is kept only while it's shown, it's loaded again on the next complete.
+            if (!mFlagDrawTick) {
+                releaseTickDrawable()
+            }
+        }
+
+        // Intentionally override `performClick` to do not lose accessibility support.
+        @Suppress("RedundantOverride")
+        override fun performClick(): Boolean {
+            return super.performClick()
+        }
+
+        override fun onSaveInstanceState(): Parcelable {
+            val savedState = SavedState(super.onSaveInstanceState())
+            savedState.isCompleted = mIsCompleted
+            savedState.isLocked = isLocked
+            return savedState
+        }
+
+        override fun onRestoreInstanceState(state: Parcelable?) {
+            if (state !is SavedState) {
+                super.onRestoreInstanceState(state)
+                return
+            }
+            super.onRestoreInstanceState(state.superState)
+            isLocked = state.isLocked
+            setCompleted(state.isCompleted, false)
+        }
+
+        /**
+         * Applies a whole [BindState] in a single pass, e.g. to rebind a recycled view in a
+         * RecyclerView. Running animations are cancelled and only the values that differ from
+         * the current ones are applied. The view is invalidated once.
+         */
+        fun bind(state: BindState) {
+            mIsBinding = true
+            try {
+                applyBindState(state)
+            } finally {
+                mIsBinding = false
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                invalidateOutline()
+            }
+            invalidate()
+        }
+
+        /** Private method to apply a [BindState], the setters are skipped as they invalidate */
+        private fun applyBindState(state: BindState) {
+            mTimeline.cancel()
+            abandonCompleteAction()
+            stopHintAnimations()
+
+            // Spanned texts are equal only if their spans are equal too.
+            if (mText != state.text) {
+                mText = state.text
+                updateTextToDraw()
+            }
+            if (mOuterColor != state.outerColor) {
+                updateOuterColor(state.outerColor)
+            }
+            if (mInnerColor != state.innerColor) {
+                updateInnerColor(state.innerColor)
+            }
+            isLocked = state.isLocked
+
+            if (state.isCompleted) {
+                mPendingPositionPerc = 0f
+                setCompleteState()
+            } else {
+                mDrawableTick?.let { stopIconAnimation(it) }
+                setBaseState()
+                val positionPerc = state.positionPerc.coerceIn(0f, 1f)
+                if (mAreaWidth > 0) {
+                    mPosition = positionPerc * (mAreaWidth - mAreaHeight)
+                } else {
+                    mPendingPositionPerc = positionPerc
+                }
             }
         }
 
-        // Intentionally override `performClick` to do not lose accessibility support.
-        @Suppress("RedundantOverride")
-        override fun performClick(): Boolean {
-            return super.performClick()
+        /** Private method to apply the outer color, without invalidating the view */
+        private fun updateOuterColor(@ColorInt value: Int) {
+            mOuterColor = value
+            mOuterPaint.color = value
+            mTrackLayer.invalidate()
         }
 
+        /** Private method to apply the inner color, without invalidating the view */
+        private fun updateInnerColor(@ColorInt value: Int) {
+            mInnerColor = value
+            mInnerPaint.color = value
+            mDrawableTick?.let { tintIconCompat(it, value) }
+        }
+
+        /**
+         * @return A [BindState] with the current state of the slider, to be restored with [bind].
+         */
+        fun snapshot(): BindState =
+            BindState(
+                text = text,
+                outerColor = outerColor,
+                innerColor = innerColor,
+                isCompleted = mIsCompleted,
+                isLocked = isLocked,
+                positionPerc = if (mIsCompleted) 1f else mPositionPerc,
+            )
+
         override fun onTouchEvent(event: MotionEvent?): Boolean {
             if (event != null && event.action == MotionEvent.ACTION_DOWN) {
                 // Calling performClick on every ACTION_DOWN so OnClickListener is triggered properly.
                 performClick()
             }
-            stopBounceAnimation()
+            stopHintAnimations()
             if (event != null && isEnabled && mIsRespondingToTouchEvents) {
-                when (event.action) {
+                if (event.actionMasked != MotionEvent.ACTION_DOWN) {
+                    mMetrics?.onGestureTouchEvent()
+                }
+                when (event.actionMasked) {
                     MotionEvent.ACTION_DOWN -> {
-                        if (checkInsideButton(event.x, event.y)) {
-                            mFlagMoving = true
-                            mLastX = event.x
+                        if (mState.onTouchDown(event.x, event.y)) {
+                            if (mTimeline.isPlaying(mSnapBackSequence)) {
+                                // The user caught the cursor while it was going back.
+                                mTimeline.cancel()
+                            }
+                            mActivePointerId = event.getPointerId(0)
+                            mMetrics?.onGestureStart()
+                            mHaptics.onGestureStart(mPositionPerc)
+                            mGestureRecorder?.begin(event.eventTime, event.x, event.y)
+                            // The velocity is used by flings and to retarget the release.
+                            mVelocityTracker?.clear()
+                            mVelocityTracker = mVelocityTracker ?: VelocityTracker.obtain()
+                            mVelocityTracker?.addMovement(event)
                             parent.requestDisallowInterceptTouchEvent(true)
                         } else {
                             // Clicking outside the area -> User failed, notify the listener.
@@ -691,40 +1630,68 @@ class SlideToActView
                     }
                     MotionEvent.ACTION_UP -> {
                         parent.requestDisallowInterceptTouchEvent(false)
-                        if ((mPosition > 0 && isLocked) ||
-                            (mPosition > 0 && mPositionPerc < mGraceValue)
-                        ) {
-                            // Check for grace value
-                            val positionAnimator = ValueAnimator.ofInt(mPosition, 0)
-                            positionAnimator.duration = animDuration
-                            positionAnimator.addUpdateListener {
-                                mPosition = it.animatedValue as Int
-                                invalidate()
-                            }
-                            positionAnimator.start()
-                        } else if (mPosition > 0 && mPositionPerc >= mGraceValue) {
-                            startAnimationComplete()
-                        } else if (mFlagMoving && mPosition == 0) {
-                            // mFlagMoving == true means user successfully grabbed the slider,
-                            // but mPosition == 0 means that the slider is released at the beginning
-                            // so either a Tap or the user slided back.
-                            onSlideUserFailedListener?.onSlideFailed(this, false)
+                        val velocityX = computeVelocityX(event)
+                        mActivePointerId = MotionEvent.INVALID_POINTER_ID
+                        mGestureRecorder?.record(event.eventTime, event.x, event.y)
+                        val release = mState.onTouchUp(velocityX)
+                        // Only completing gestures are measured until onSlideComplete.
+                        val isCompleting = release == SlideToActState.Release.COMPLETE
+                        mMetrics?.onGestureEnd(if (isCompleting) System.nanoTime() else -1L)
+                        dispatchGestureTrace(release)
+                        handleRelease(release, if (isReversed) -velocityX else velocityX)
+                    }
+                    MotionEvent.ACTION_CANCEL -> {
+                        parent.requestDisallowInterceptTouchEvent(false)
+                        mActivePointerId = MotionEvent.INVALID_POINTER_ID
+                        mVelocityTracker?.recycle()
+                        mVelocityTracker = null
+                        mMetrics?.onGestureEnd(-1L)
+                        val release = mState.onTouchCancel()
+                        dispatchGestureTrace(release)
+                        handleRelease(release)
+                    }
+                    MotionEvent.ACTION_POINTER_UP -> {
+                        mVelocityTracker?.addMovement(event)
+                        val pointerIndex = event.actionIndex
+                        if (mState.isMoving && event.getPointerId(pointerIndex) == mActivePointerId) {
+                            // The finger driving the cursor was lifted, another one takes over.
+                            val newPointerIndex = if (pointerIndex == 0) 1 else 0
+                            mActivePointerId = event.getPointerId(newPointerIndex)
+                            mState.onPointerChanged(event.getX(newPointerIndex))
                         }
-                        mFlagMoving = false
                     }
                     MotionEvent.ACTION_MOVE -> {
-                        if (mFlagMoving) {
-                            // True if the cursor was not at the end position before this event
-                            val wasIncomplete = mPositionPerc < 1f
-
-                            val diffX = event.x - mLastX
-                            mLastX = event.x
-                            increasePosition(diffX.toInt())
-                            invalidate()
+                        val pointerIndex = event.findPointerIndex(mActivePointerId)
+                        if (mState.isMoving && pointerIndex >= 0) {
+                            mVelocityTracker?.addMovement(event)
+                            val oldEffectivePosition = mEffectivePosition
+                            val oldTextAlpha = textAlpha()
+
+                            // Batched samples (e.g. 120/240 Hz digitizers) are consumed in one pass.
+                            var reachedEnd = false
+                            for (i in 0 until event.historySize) {
+                                val historicalX = event.getHistoricalX(pointerIndex, i)
+                                mGestureRecorder?.record(
+                                    event.getHistoricalEventTime(i),
+                                    historicalX,
+                                    event.getHistoricalY(pointerIndex, i),
+                                )
+                                reachedEnd = mState.onTouchMove(historicalX) || reachedEnd
+                            }
+                            val x = event.getX(pointerIndex)
+                            mGestureRecorder?.record(event.eventTime, x, event.getY(pointerIndex))
+                            reachedEnd = mState.onTouchMove(x) || reachedEnd
+
+                            if (mEffectivePosition != oldEffectivePosition) {
+                                mBoundsDirty = true
+                                invalidateCursorMove(oldEffectivePosition, oldTextAlpha)
+                                mHaptics.onPositionChanged(mPositionPerc)
+                                scheduleProgressDispatch()
+                            }
 
                             // If this event brought the cursor to the end position, we can vibrate
-                            if (bumpVibration > 0 && wasIncomplete && mPositionPerc == 1f) {
-                                handleVibration()
+                            if (reachedEnd) {
+                                mHaptics.bump()
                             }
                         }
                     }
@@ -735,137 +1702,380 @@ class SlideToActView
         }
 
         /**
-         * Private method to check if user has touched the slider cursor
-         * @param x The x coordinate of the touch event
-         * @param y The y coordinate of the touch event
-         * @return A boolean that informs if user has pressed or not
+         * Private method to coalesce the progress updates: the position can change several
+         * times per frame (touch samples, animation frames), but it's dispatched only once.
          */
-        private fun checkInsideButton(
-            x: Float,
-            y: Float,
-        ): Boolean {
-            return (
-                0 < y &&
-                    y < mAreaHeight &&
-                    mEffectivePosition < x &&
-                    x < (mAreaHeight + mEffectivePosition)
-            )
+        private fun scheduleProgressDispatch() {
+            if (mIsProgressScheduled) {
+                return
+            }
+            if (onSlideProgressListener == null && mProgressFlow == null) {
+                return
+            }
+            mIsProgressScheduled = true
+            ViewCompat.postOnAnimation(this, mProgressDispatch)
+        }
+
+        /** Private method to dispatch the latest progress, if it changed since the last one */
+        private fun dispatchProgress() {
+            mIsProgressScheduled = false
+            val progress = mPositionPerc
+            if (progress == mDispatchedProgress) {
+                return
+            }
+            mDispatchedProgress = progress
+            onSlideProgressListener?.onSlideProgress(this, progress)
+            mProgressFlow?.value = progress
         }
 
         /**
-         * Private method for increasing/decreasing the position
-         * Ensure that position never exits from its range [0, (mAreaWidth - mAreaHeight)].
-         *
-         * Please note that the increment is inverted in case of a reversed slider.
-         *
-         * @param inc Increment to be performed (negative if it's a decrement)
+         * Private method to compute the horizontal velocity of the active pointer on release.
+         * @return The velocity in pixels per second, 0 if the gesture wasn't tracked.
          */
-        private fun increasePosition(inc: Int) {
-            mPosition =
-                if (isReversed) {
-                    mPosition - inc
-                } else {
-                    mPosition + inc
-                }
-            if (mPosition < 0) {
-                mPosition = 0
-            }
-            if (mPosition > (mAreaWidth - mAreaHeight)) {
-                mPosition = mAreaWidth - mAreaHeight
-            }
+        private fun computeVelocityX(event: MotionEvent): Float {
+            val tracker = mVelocityTracker ?: return 0f
+            tracker.addMovement(event)
+            tracker.computeCurrentVelocity(1000, mMaxFlingVelocity)
+            val velocityX = tracker.getXVelocity(mActivePointerId)
+            tracker.recycle()
+            mVelocityTracker = null
+            return velocityX
         }
 
         /**
-         * Private method that is performed when user completes the slide
+         * @return A copy of the metrics collected so far, null if [isMetricsEnabled] is false.
          */
-        private fun startAnimationComplete() {
-            val animSet = AnimatorSet()
+        fun metricsSnapshot(): SlideToActMetrics.Snapshot? = mMetrics?.snapshot()
 
-            // Animator that moves the cursor
-            val finalPositionAnimator = ValueAnimator.ofInt(mPosition, mAreaWidth - mAreaHeight)
-            finalPositionAnimator.addUpdateListener {
-                mPosition = it.animatedValue as Int
-                invalidate()
+        /** Clears the metrics collected so far */
+        fun resetMetrics() {
+            mMetrics?.reset()
+        }
+
+        /**
+         * Private method to post the next report to the [onMetricsListener], if needed.
+         */
+        private fun scheduleMetricsReport() {
+            removeCallbacks(mMetricsReport)
+            if (mMetrics != null &&
+                onMetricsListener != null &&
+                ViewCompat.isAttachedToWindow(this)
+            ) {
+                postDelayed(mMetricsReport, metricsReportInterval)
             }
+        }
 
-            // Animator that bounce away the cursors
-            val marginAnimator =
-                ValueAnimator.ofInt(
-                    mActualAreaMargin,
-                    (mInnerRect.width() / 2).toInt() + mActualAreaMargin,
-                )
-            marginAnimator.addUpdateListener {
-                mActualAreaMargin = it.animatedValue as Int
-                invalidate()
+        /**
+         * Private method to deliver the trajectory of the released gesture, if it was recorded.
+         */
+        private fun dispatchGestureTrace(release: SlideToActState.Release) {
+            val recorder = mGestureRecorder ?: return
+            if (recorder.isRecording) {
+                onSlideGestureListener?.onSlideGesture(this, recorder.drain(release))
             }
-            marginAnimator.interpolator = AnticipateOvershootInterpolator(2f)
+        }
 
-            // Animator that reduces the outer area (to right)
-            val areaAnimator = ValueAnimator.ofInt(0, (mAreaWidth - mAreaHeight) / 2)
-            areaAnimator.addUpdateListener {
-                mActualAreaWidth = it.animatedValue as Int
-                if (Build.VERSION.SDK_INT >= 21) {
-                    invalidateOutline()
+        /**
+         * Private method to react to a released (or cancelled) gesture.
+         * @param velocity Velocity of the cursor on release (in pixels per second)
+         */
+        private fun handleRelease(
+            release: SlideToActState.Release,
+            velocity: Float = 0f,
+        ) {
+            when (release) {
+                SlideToActState.Release.SNAP_BACK -> {
+                    mAnimFromPosition = mPosition
+                    mSnapBackSequence.setDuration(animDuration)
+                    retargetPosition(0f, velocity)
+                    mTimeline.start(mSnapBackSequence)
+                }
+                SlideToActState.Release.COMPLETE ->
+                    startAnimationComplete(withAction = true, velocity = velocity)
+                SlideToActState.Release.FAILED ->
+                    onSlideUserFailedListener?.onSlideFailed(this, false)
+                SlideToActState.Release.NONE -> {
+                    // Nothing to do
                 }
-                invalidate()
             }
+        }
 
-            val tickListener =
-                ValueAnimator.AnimatorUpdateListener {
-                    // We need to enable the drawing of the AnimatedVectorDrawable before starting it.
-                    if (!mFlagDrawTick) {
-                        mFlagDrawTick = true
-                        mTickMargin = mIconMargin
-                    }
+        /**
+         * Private method that is performed when user completes the slide. A running animation
+         * is interrupted and the cursor continues from where it is, with its velocity.
+         * @param withAction True to run the complete action before the tick, if one is set
+         * @param velocity Velocity of the cursor (in pixels per second)
+         */
+        private fun startAnimationComplete(
+            withAction: Boolean = false,
+            velocity: Float = currentPositionVelocity(),
+        ) {
+            val isPendingAction = withAction && mCompleteAction != null
+            val sequence =
+                when {
+                    isPendingAction && isAnimateCompletion -> mCompletePendingSequence
+                    isPendingAction -> mCompletePendingOnlyPositionSequence
+                    isAnimateCompletion -> mCompleteSequence
+                    else -> mCompleteOnlyPositionSequence
                 }
-            val tickAnimator: ValueAnimator = createIconAnimator(this, mDrawableTick, tickListener)
+            if (mIsPending || isCompleteAnimationRunning()) {
+                return
+            }
+
+            if (mFlagDrawTick) {
+                // A reset was interrupted before hiding the tick, it will be played again.
+                mFlagDrawTick = false
+                mDrawableTick?.let { stopIconAnimation(it) }
+            }
+            mAnimFromPosition = mPosition
+            mAnimFromMargin = mActualAreaMargin
+            mAnimToMargin = (mInnerRect.width() / 2).toInt() + mActualAreaMargin
+            mAnimFromAreaWidth = mActualAreaWidth
+
+            sequence.setDuration(animDuration)
+            // The cursor is moved only if it's not already at the end
+            if (mPosition >= (mAreaWidth - mAreaHeight).toFloat()) {
+                sequence.setDuration(0, 0L)
+            }
+            // The cursor is bounced away only if an interrupted reset didn't bring it back.
+            if (sequence.size > 1 && mAnimFromMargin == mAnimToMargin) {
+                sequence.setDuration(1, 0L)
+            }
+            retargetPosition((mAreaWidth - mAreaHeight).toFloat(), velocity)
+
+            mIsRespondingToTouchEvents = false
+            mTimeline.start(sequence)
+        }
+
+        /**
+         * Private method to start the position segments with the velocity of the cursor, so
+         * a release or an interrupted animation is continued without a jump in speed.
+         * Must be called after the durations and [mAnimFromPosition] are set.
+         */
+        private fun retargetPosition(
+            target: Float,
+            velocity: Float,
+        ) {
+            mPositionInterpolator.setInitialVelocity(
+                velocity,
+                target - mAnimFromPosition,
+                animDuration,
+            )
+        }
 
-            val animators = mutableListOf<Animator>()
-            if (mPosition < mAreaWidth - mAreaHeight) {
-                animators.add(finalPositionAnimator)
+        /** Private method to get the velocity of the cursor, if the timeline is moving it */
+        private fun currentPositionVelocity(): Float =
+            if (mTimeline.isPlaying(mCompletePositionSegment) ||
+                mTimeline.isPlaying(mResetPositionSegment)
+            ) {
+                mPositionVelocity
+            } else {
+                0f
             }
 
+        /** Private method to move the cursor from a segment, tracking its velocity */
+        private fun setAnimatedPosition(position: Float) {
+            val interval = mTimeline.frameIntervalNanos
+            mPositionVelocity =
+                if (interval > 0) (position - mPosition) * NANOS_PER_SECOND / interval else 0f
+            mPosition = position
+        }
+
+        /** Private method to check if the slider is moving towards the complete state */
+        private fun isCompleteAnimationRunning(): Boolean =
+            mTimeline.isPlaying(mCompleteSequence) ||
+                mTimeline.isPlaying(mCompleteOnlyPositionSequence) ||
+                mTimeline.isPlaying(mCompletePendingSequence) ||
+                mTimeline.isPlaying(mCompletePendingOnlyPositionSequence) ||
+                mTimeline.isPlaying(mCompleteTickSequence)
+
+        /** Private method to check if the cursor is collapsing before the complete action */
+        private fun isPendingAnimationRunning(): Boolean =
+            mTimeline.isPlaying(mCompletePendingSequence) ||
+                mTimeline.isPlaying(mCompletePendingOnlyPositionSequence)
+
+        /** Private method invoked once the slider reached the complete state */
+        private fun onCompleteAnimationEnded() {
+            mIsCompleted = true
+            onSlideToActAnimationEventListener?.onSlideCompleteAnimationEnded(this)
+            mMetrics?.onCompleted(System.nanoTime())
+            onSlideCompleteListener?.onSlideComplete(this)
+        }
+
+        /** Private method to play the tick, as the last part of the complete animation */
+        private fun startAnimationTick() {
             if (isAnimateCompletion) {
-                animators.add(marginAnimator)
-                animators.add(areaAnimator)
-                animators.add(tickAnimator)
+                mCompleteTickSequence.setDuration(animDuration)
+                mTimeline.start(mCompleteTickSequence)
+            } else {
+                onCompleteAnimationEnded()
+            }
+        }
+
+        /**
+         * Private method to run the complete action once the cursor is collapsed. The result
+         * can arrive on any thread, it's always applied on the UI thread.
+         */
+        private fun startCompleteAction() {
+            val action = mCompleteAction
+            if (action == null) {
+                // The action was removed while the cursor was collapsing.
+                startAnimationTick()
+                return
+            }
+            mIsPending = true
+            val generation = ++mActionGeneration
+            val callback: (Throwable?) -> Unit = { error ->
+                post { onCompleteActionResult(generation, error) }
+            }
+            try {
+                mActionJob = action.run(this, callback)
+            } catch (e: Exception) {
+                callback(e)
             }
+            invalidate()
+        }
 
-            animSet.playSequentially(*animators.toTypedArray())
+        /** Private method to resolve the pending state with the result of the action */
+        private fun onCompleteActionResult(
+            generation: Int,
+            error: Throwable?,
+        ) {
+            if (!mIsPending || generation != mActionGeneration) {
+                return
+            }
+            mIsPending = false
+            mActionJob = null
+            invalidate()
+            if (error == null) {
+                startAnimationTick()
+            } else {
+                onSlideActionFailedListener?.onSlideActionFailed(this, error)
+                startAnimationReset()
+            }
+        }
 
-            animSet.duration = animDuration
+        /**
+         * Private method to leave the pending state without waiting for the action.
+         * @return True if an action was pending
+         */
+        private fun abandonCompleteAction(): Boolean {
+            if (!mIsPending) {
+                return false
+            }
+            mIsPending = false
+            mActionGeneration++
+            mActionJob?.cancel()
+            mActionJob = null
+            if (!mIsBinding) {
+                invalidate()
+            }
+            return true
+        }
 
-            animSet.addListener(
-                object : Animator.AnimatorListener {
-                    override fun onAnimationStart(p0: Animator) {
-                        onSlideToActAnimationEventListener?.onSlideCompleteAnimationStarted(
-                            this@SlideToActView,
-                            mPositionPerc,
-                        )
+        /**
+         * Sets a suspending action to run when the user completes the slide. The cursor
+         * collapses and a spinner is shown while the action runs, then the slider completes.
+         * If the action throws, [onSlideActionFailedListener] is notified and the slider resets.
+         *
+         * The action runs in a scope owned by the view, on `Dispatchers.Main.immediate`: it
+         * starts and resumes on the UI thread, so it must not block and it should switch to a
+         * background dispatcher for blocking work, e.g. with `withContext(Dispatchers.IO)`.
+         * Calling [setCompleted] or [bind] while the action runs cancels the action and its
+         * result is ignored. Detaching the view cancels the whole scope.
+         * @param action The action to run, or null to complete the slider right away
+         */
+        fun setCompleteAction(action: (suspend (SlideToActView) -> Unit)?) {
+            mCompleteAction =
+                if (action == null) {
+                    null
+                } else {
+                    CompleteAction { view, callback ->
+                        // async keeps the failure in the Deferred, so it's only reported to
+                        // the callback instead of crashing the app.
+                        view.actionScope()
+                            .async { action(view) }
+                            .apply { invokeOnCompletion(callback) }
                     }
+                }
+        }
 
-                    override fun onAnimationCancel(p0: Animator) {
-                    }
+        /** Private method to get the scope of the complete actions, created on first use */
+        private fun actionScope(): CoroutineScope =
+            mActionScope ?: CoroutineScope(SupervisorJob() + Dispatchers.Main.immediate).also {
+                mActionScope = it
+            }
 
-                    override fun onAnimationEnd(p0: Animator) {
-                        mIsCompleted = true
-                        onSlideToActAnimationEventListener?.onSlideCompleteAnimationEnded(
-                            this@SlideToActView,
+        /**
+         * Sets an action that returns a [ListenableFuture] to run when the user completes the
+         * slide, see [setCompleteAction]. No thread waits for the future: its result is
+         * delivered by a listener. The slider fails if the future completes exceptionally or
+         * it's cancelled. The future is cancelled if the action is abandoned.
+         * @param action The action to run, or null to complete the slider right away
+         */
+        fun setCompleteActionFuture(action: OnSlideCompleteFutureAction?) {
+            mCompleteAction =
+                if (action == null) {
+                    null
+                } else {
+                    CompleteAction { view, callback ->
+                        val future = action.onSlideComplete(view)
+                        val job = Job()
+                        job.invokeOnCompletion { future.cancel(true) }
+                        future.addListener(
+                            {
+                                // The future is done, get() returns right away.
+                                val error =
+                                    try {
+                                        future.get()
+                                        null
+                                    } catch (e: ExecutionException) {
+                                        e.cause ?: e
+                                    } catch (e: Exception) {
+                                        e
+                                    }
+                                callback(error)
+                                job.complete()
+                            },
+                            DIRECT_EXECUTOR,
                         )
-                        onSlideCompleteListener?.onSlideComplete(this@SlideToActView)
+                        job
                     }
+                }
+        }
 
-                    override fun onAnimationRepeat(p0: Animator) {
-                    }
-                },
-            )
-            mIsRespondingToTouchEvents = false
-            animSet.start()
+        /**
+         * Common shape of the complete actions, the callback receives the failure if any.
+         * The returned [Job] is cancelled when the action is abandoned.
+         */
+        private fun interface CompleteAction {
+            fun run(
+                view: SlideToActView,
+                callback: (Throwable?) -> Unit,
+            ): Job
         }
 
+        /**
+         * Private method to interpolate a Float the same way a FloatEvaluator does.
+         */
+        private fun lerp(
+            from: Float,
+            to: Float,
+            fraction: Float,
+        ): Float = from + fraction * (to - from)
+
+        /**
+         * Private method to interpolate an Int the same way an IntEvaluator does.
+         */
+        private fun lerp(
+            from: Int,
+            to: Int,
+            fraction: Float,
+        ): Int = (from + fraction * (to - from)).toInt()
+
         /** Private method to update view to base state */
         private fun setBaseState() {
-            mPosition = 0
+            mPosition = 0f
             mActualAreaMargin = mOriginAreaMargin
             mActualAreaWidth = 0
             mArrowMargin = mIconMargin
@@ -888,12 +2098,12 @@ class SlideToActView
 
         /** Private method to update view to complete state */
         private fun setCompleteState() {
-            mPosition = mAreaWidth - mAreaHeight
+            mPosition = (mAreaWidth - mAreaHeight).toFloat()
             mActualAreaMargin = mAreaHeight / 2
-            mActualAreaWidth = mPosition / 2
+            mActualAreaWidth = (mAreaWidth - mAreaHeight) / 2
             mIsCompleted = true
 
-            startIconAnimation(mDrawableTick)
+            startIconAnimation(tickDrawable())
 
             mFlagDrawTick = true
             mTickMargin = mIconMargin
@@ -909,7 +2119,7 @@ class SlideToActView
                     startAnimationComplete()
                 }
             } else {
-                if (mIsCompleted) {
+                if (mIsCompleted || isCompleteAnimationRunning()) {
                     startAnimationReset()
                 }
             }
@@ -925,10 +2135,22 @@ class SlideToActView
             completed: Boolean,
             withAnimation: Boolean,
         ) {
-            stopBounceAnimation()
+            stopHintAnimations()
+            if (abandonCompleteAction()) {
+                // The cursor is already collapsed, only the tick or the reset are missing.
+                when {
+                    completed && withAnimation -> startAnimationTick()
+                    completed -> setCompleteState()
+                    withAnimation -> startAnimationReset()
+                    else -> setBaseState()
+                }
+                return
+            }
             if (withAnimation) {
                 setCompletedAnimated(completed)
             } else {
+                // A running animation would overwrite the new state.
+                mTimeline.cancel()
                 setCompletedNotAnimated(completed)
             }
         }
@@ -941,7 +2163,7 @@ class SlideToActView
             replaceWith = ReplaceWith("setCompleted(completed: true, withAnimation: true)"),
         )
         fun completeSlider() {
-            stopBounceAnimation()
+            stopHintAnimations()
             if (!mIsCompleted) {
                 startAnimationComplete()
             }
@@ -955,7 +2177,7 @@ class SlideToActView
             replaceWith = ReplaceWith("setCompleted(completed: false, withAnimation: true)"),
         )
         fun resetSlider() {
-            stopBounceAnimation()
+            stopHintAnimations()
             if (mIsCompleted) {
                 startAnimationReset()
             }
@@ -970,159 +2192,255 @@ class SlideToActView
         }
 
         /**
-         * Bounce animation on the slider on start
+         * Bounce animation on the slider on start. It runs only while the slider is attached
+         * and visible on screen, and it's paused otherwise.
          */
         private fun startBounceAnimation(
             duration: Long,
             repeatCount: Int,
         ) {
-            bounceAnimator.apply {
-                addUpdateListener {
-                    mPosition = it.animatedValue as Int
-                    invalidate()
-                }
-                setDuration(duration)
-                setRepeatCount(repeatCount)
-                repeatMode = ValueAnimator.RESTART
-                startDelay = 1000
-                start()
-            }
+            mBounceAnimator.duration = duration
+            mBounceAnimator.repeatCount = repeatCount
+            mIsBounceRequested = true
+            updateHintAnimations()
         }
 
-        private fun stopBounceAnimation() {
-            if (bounceAnimator.isRunning) {
-                bounceAnimator.end()
-            }
+        /**
+         * Shimmer animation across the text, a cheaper hint than the bounce: every frame only
+         * translates a gradient and redraws the text, without touching the geometry.
+         */
+        private fun startShimmerAnimation(duration: Long) {
+            mShimmerAnimator.duration = duration
+            mIsShimmerRequested = true
+            updateHintAnimations()
+        }
+
+        /** Stops the bounce and the shimmer, e.g. as soon as the user touches the slider */
+        private fun stopHintAnimations() {
+            mIsBounceRequested = false
+            mIsShimmerRequested = false
+            updateHintAnimations()
         }
 
         /**
-         * Private method that is performed when you want to reset the cursor
+         * Starts or pauses the bounce and the shimmer, according to the visibility of the view.
+         * A paused hint is cancelled, so it doesn't invalidate the view anymore, and
+         * starts again from the beginning when resumed.
          */
-        private fun startAnimationReset() {
-            mIsCompleted = false
-            val animSet = AnimatorSet()
-
-            // Animator that reduces the tick size
-            val tickAnimator = ValueAnimator.ofInt(mTickMargin, mAreaWidth / 2)
-            tickAnimator.addUpdateListener {
-                mTickMargin = it.animatedValue as Int
+        private fun updateHintAnimations() {
+            val canRun =
+                (mIsBounceRequested || mIsShimmerRequested) &&
+                    mIsVisibleOnScreen &&
+                    ViewCompat.isAttachedToWindow(this) &&
+                    areAnimatorsEnabled()
+
+            // Animators are started also while waiting for their start delay.
+            if (mIsBounceRequested && canRun) {
+                if (!mBounceAnimator.isStarted) {
+                    mBounceAnimator.start()
+                }
+            } else if (mBounceAnimator.isStarted) {
+                mBounceAnimator.cancel()
+                mPosition = 0f
                 invalidate()
             }
 
-            // Animator that enlarges the outer area
-            val areaAnimator = ValueAnimator.ofInt(mActualAreaWidth, 0)
-            areaAnimator.addUpdateListener {
-                // Now we can hide the tick till the next complete
-                mFlagDrawTick = false
-                mActualAreaWidth = it.animatedValue as Int
-                if (Build.VERSION.SDK_INT >= 21) {
-                    invalidateOutline()
+            if (mIsShimmerRequested && canRun) {
+                if (!mShimmerAnimator.isStarted) {
+                    updateShimmerShader()
+                    mShimmerAnimator.start()
                 }
-                invalidate()
+            } else if (mShimmerAnimator.isStarted) {
+                mShimmerAnimator.cancel()
+                mShimmerShader = null
+                mTextPaint.shader = null
+                invalidate(mTextBounds)
             }
+        }
 
-            val positionAnimator = ValueAnimator.ofInt(mPosition, 0)
-            positionAnimator.addUpdateListener {
-                mPosition = it.animatedValue as Int
-                invalidate()
-            }
+        /**
+         * Private method to allocate the shimmer gradient. It's called only when the shimmer
+         * starts or the text bounds change, never on a shimmer frame.
+         */
+        private fun updateShimmerShader() {
+            // The alpha of the text is applied by the paint, see drawLabel.
+            val baseColor = ColorUtils.setAlphaComponent(mTextPaint.color, 255)
+            val shimmerColor =
+                if (mShimmerColor != Color.TRANSPARENT) {
+                    mShimmerColor
+                } else {
+                    ColorUtils.setAlphaComponent(baseColor, 0x40)
+                }
+            mShimmerBandWidth = max(mTextBounds.width() / 3, 1).toFloat()
+            val shader =
+                LinearGradient(
+                    0f,
+                    0f,
+                    mShimmerBandWidth,
+                    0f,
+                    intArrayOf(baseColor, shimmerColor, baseColor),
+                    null,
+                    Shader.TileMode.CLAMP,
+                )
+            mShimmerShader = shader
+            mTextPaint.shader = shader
+            updateShimmerFrame(mShimmerAnimator.animatedFraction)
+        }
 
-            // Animator that re-draw the cursors
-            val marginAnimator = ValueAnimator.ofInt(mActualAreaMargin, mOriginAreaMargin)
-            marginAnimator.addUpdateListener {
-                mActualAreaMargin = it.animatedValue as Int
-                invalidate()
-            }
-            marginAnimator.interpolator = AnticipateOvershootInterpolator(2f)
+        /** Private method to move the shimmer band, [fraction] goes from 0f to 1f */
+        private fun updateShimmerFrame(fraction: Float) {
+            val shader = mShimmerShader ?: return
+            // The label is drawn translated to (mTextLeft, mTextTop), the shader is local to it.
+            val start = mTextBounds.left - mTextLeft - mShimmerBandWidth
+            val offset = start + (mTextBounds.width() + mShimmerBandWidth) * fraction
+            mShimmerMatrix.setTranslate(offset, 0f)
+            shader.setLocalMatrix(mShimmerMatrix)
+            invalidate(mTextBounds)
+        }
 
-            // Animator that makes the arrow appear
-            val arrowAnimator = ValueAnimator.ofInt(mArrowMargin, mIconMargin)
-            arrowAnimator.addUpdateListener {
-                mArrowMargin = it.animatedValue as Int
-                invalidate()
+        private fun updateHintVisibility(isVisible: Boolean) {
+            if (mIsVisibleOnScreen != isVisible) {
+                mIsVisibleOnScreen = isVisible
+                updateHintAnimations()
             }
+        }
 
-            marginAnimator.interpolator = OvershootInterpolator(2f)
+        @RequiresApi(Build.VERSION_CODES.N)
+        override fun onVisibilityAggregated(isVisible: Boolean) {
+            super.onVisibilityAggregated(isVisible)
+            updateHintVisibility(isVisible)
+        }
 
-            if (isAnimateCompletion) {
-                animSet.playSequentially(
-                    tickAnimator,
-                    areaAnimator,
-                    positionAnimator,
-                    marginAnimator,
-                    arrowAnimator,
-                )
-            } else {
-                animSet.playSequentially(positionAnimator)
+        override fun onWindowVisibilityChanged(visibility: Int) {
+            super.onWindowVisibilityChanged(visibility)
+            // Before Nougat there is no aggregated visibility: we check the window and the views.
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+                updateHintVisibility(visibility == VISIBLE && isShown)
             }
+        }
 
-            animSet.duration = animDuration
+        override fun onVisibilityChanged(
+            changedView: View,
+            visibility: Int,
+        ) {
+            super.onVisibilityChanged(changedView, visibility)
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+                updateHintVisibility(windowVisibility == VISIBLE && isShown)
+            }
+        }
 
-            animSet.addListener(
-                object : Animator.AnimatorListener {
-                    override fun onAnimationStart(p0: Animator) {
-                        onSlideToActAnimationEventListener?.onSlideResetAnimationStarted(
-                            this@SlideToActView,
-                        )
-                    }
+        /**
+         * Returns false if the user disabled animations, through the animator duration scale
+         * of the developer options or of the accessibility settings. An infinite bounce would
+         * otherwise spin without showing anything. A scale different from 0 is already
+         * applied by the [ValueAnimator] itself.
+         */
+        private fun areAnimatorsEnabled(): Boolean =
+            when {
+                Build.VERSION.SDK_INT >= Build.VERSION_CODES.O ->
+                    ValueAnimator.areAnimatorsEnabled()
+                Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 ->
+                    Settings.Global.getFloat(
+                        context.contentResolver,
+                        Settings.Global.ANIMATOR_DURATION_SCALE,
+                        1f,
+                    ) != 0f
+                else -> true
+            }
 
-                    override fun onAnimationCancel(p0: Animator) {
-                    }
+        /**
+         * Private method that is performed when you want to reset the cursor. A running
+         * animation is interrupted and the cursor goes back from where it is.
+         * @param velocity Velocity of the cursor (in pixels per second)
+         */
+        private fun startAnimationReset(velocity: Float = currentPositionVelocity()) {
+            mIsCompleted = false
+            val sequence =
+                if (isAnimateCompletion) {
+                    mResetSequence
+                } else {
+                    mResetOnlyPositionSequence
+                }
+            if (mTimeline.isPlaying(sequence)) {
+                return
+            }
 
-                    override fun onAnimationEnd(p0: Animator) {
-                        mIsRespondingToTouchEvents = true
-                        stopIconAnimation(mDrawableTick)
-                        onSlideToActAnimationEventListener?.onSlideResetAnimationEnded(
-                            this@SlideToActView,
-                        )
-                        onSlideResetListener?.onSlideReset(this@SlideToActView)
-                    }
+            mAnimFromTickMargin = mTickMargin
+            mAnimFromAreaWidth = mActualAreaWidth
+            mAnimFromPosition = mPosition
+            mAnimFromMargin = mActualAreaMargin
+            mAnimFromArrowMargin = mArrowMargin
+
+            sequence.setDuration(animDuration)
+            var isPositionFirst = true
+            if (sequence === mResetSequence) {
+                // Phases with nothing to animate are skipped, e.g. when a complete is interrupted.
+                if (!mFlagDrawTick) {
+                    sequence.setDuration(0, 0L)
+                }
+                if (mActualAreaWidth == 0) {
+                    sequence.setDuration(1, 0L)
+                }
+                isPositionFirst = !mFlagDrawTick && mActualAreaWidth == 0
+            }
+            // The velocity is kept only if the cursor moves right away.
+            retargetPosition(0f, if (isPositionFirst) velocity else 0f)
+            mTimeline.start(sequence)
+        }
 
-                    override fun onAnimationRepeat(p0: Animator) {
-                    }
-                },
+        /**
+         * Snapshot of the state of a slider, applied in a single pass with [bind].
+         * @param text The text message
+         * @param outerColor The outer color of the slider
+         * @param innerColor The inner color of the slider
+         * @param isCompleted True if the slider is in the complete state
+         * @param isLocked True if the slider is locked
+         * @param positionPerc Position of the cursor (in percentage [0f,1f]), if not completed
+         */
+        data class BindState
+            @JvmOverloads
+            constructor(
+                val text: CharSequence,
+                @ColorInt val outerColor: Int,
+                @ColorInt val innerColor: Int,
+                val isCompleted: Boolean = false,
+                val isLocked: Boolean = false,
+                val positionPerc: Float = 0f,
             )
-            animSet.start()
-        }
 
         /**
-         * Private method to handle vibration logic, called when the cursor it moved to the end of
-         * it's path.
+         * State saved across configuration changes and process death: the completed and
+         * the locked flags.
          */
-        @SuppressLint("MissingPermission")
-        private fun handleVibration() {
-            if (bumpVibration <= 0) return
+        internal class SavedState : BaseSavedState {
+            var isCompleted = false
+            var isLocked = false
+
+            constructor(superState: Parcelable?) : super(superState)
 
-            if (ContextCompat.checkSelfPermission(context, Manifest.permission.VIBRATE) !=
-                PackageManager.PERMISSION_GRANTED
+            private constructor(source: Parcel) : super(source) {
+                isCompleted = source.readInt() == 1
+                isLocked = source.readInt() == 1
+            }
+
+            override fun writeToParcel(
+                out: Parcel,
+                flags: Int,
             ) {
-                Log.w(
-                    TAG,
-                    "bumpVibration is set but permissions are unavailable." +
-                        "You must have the permission android.permission.VIBRATE in " +
-                        "AndroidManifest.xml to use bumpVibration",
-                )
-                return
+                super.writeToParcel(out, flags)
+                out.writeInt(if (isCompleted) 1 else 0)
+                out.writeInt(if (isLocked) 1 else 0)
             }
 
-            val vibrator =
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-                    val vibratorManager =
-                        context
-                            .getSystemService(Context.VIBRATOR_MANAGER_SERVICE) as VibratorManager
-                    vibratorManager.defaultVibrator
-                } else {
-                    @Suppress("DEPRECATION")
-                    context.getSystemService(Context.VIBRATOR_SERVICE) as Vibrator
-                }
+            companion object {
+                @JvmField
+                val CREATOR: Parcelable.Creator<SavedState> =
+                    object : Parcelable.Creator<SavedState> {
+                        override fun createFromParcel(source: Parcel): SavedState =
+                            SavedState(source)
 
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                vibrator.vibrate(
-                    VibrationEffect.createOneShot(bumpVibration, VibrationEffect.DEFAULT_AMPLITUDE),
-                )
-            } else {
-                @Suppress("DEPRECATION")
-                vibrator.vibrate(bumpVibration)
+                        override fun newArray(size: Int): Array<SavedState?> = arrayOfNulls(size)
+                    }
             }
         }
 
@@ -1215,6 +2533,84 @@ class SlideToActView
             )
         }
 
+        /**
+         * Event handler for the progress of the cursor, during a drag and the animations.
+         * Updates are coalesced, the listener is called at most once per frame.
+         */
+        interface OnSlideProgressListener {
+            /**
+             * Called when the cursor moved since the last frame
+             * @param view The SlideToActView who created the event
+             * @param progress Position of the cursor (in percentage [0f,1f])
+             */
+            fun onSlideProgress(
+                view: SlideToActView,
+                progress: Float,
+            )
+        }
+
+        /**
+         * Event handler for the failures of the complete action, see [setCompleteAction].
+         * The slider is reset right after this listener is called.
+         */
+        interface OnSlideActionFailedListener {
+            /**
+             * Called when the complete action failed
+             * @param view The SlideToActView who created the event
+             * @param error The error thrown by the action
+             */
+            fun onSlideActionFailed(
+                view: SlideToActView,
+                error: Throwable,
+            )
+        }
+
+        /**
+         * Action that returns a [ListenableFuture] when the user completes the slide,
+         * see [setCompleteActionFuture].
+         */
+        fun interface OnSlideCompleteFutureAction {
+            /**
+             * Called on the UI thread when the user completes the slide
+             * @param view The SlideToActView who created the event
+             * @return A future that completes once the work is done
+             */
+            fun onSlideComplete(view: SlideToActView): ListenableFuture<*>
+        }
+
+        /**
+         * Event handler for the gestures on the SlideToActView.
+         * You can use it to collect the full trajectory of every slide, e.g. to tell
+         * humans and automated inputs apart.
+         */
+        interface OnSlideGestureListener {
+            /**
+             * Called when a gesture that grabbed the cursor is released or cancelled
+             * @param view The SlideToActView who created the event
+             * @param trace The samples of the gesture, from the down event to the release
+             */
+            fun onSlideGesture(
+                view: SlideToActView,
+                trace: SlideToActGestureTrace,
+            )
+        }
+
+        /**
+         * Event handler for the metrics of the SlideToActView, see [isMetricsEnabled].
+         * The listener is called periodically, every [metricsReportInterval] milliseconds.
+         */
+        interface OnMetricsListener {
+            /**
+             * Called with the metrics collected so far
+             * @param view The SlideToActView who created the event
+             * @param metrics A copy of the metrics of the view
+             */
+            fun onMetrics(
+                view: SlideToActView,
+                metrics: SlideToActMetrics.Snapshot,
+            )
+        }
+
         /**
          * Outline provider for the SlideToActView.
          * This outline will suppress the shadow (till the moment when Android will support
@@ -0,0 +1,71 @@
+package com.ncorti.slidetoact
+
+import android.app.Activity
+import android.graphics.Paint
+import android.os.Build.VERSION_CODES.P
+import android.os.Looper
+import android.text.PrecomputedText
+import android.text.TextPaint
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+
+@RunWith(RobolectricTestRunner::class)
+@Config(minSdk = P)
+class SlideToActLabelTest {
+    private val view =
+        Robolectric.buildActivity(Activity::class.java).setup().get().window.decorView
+    private val paint = TextPaint(Paint.ANTI_ALIAS_FLAG).apply { textSize = 48f }
+    private var changes = 0
+    private val label = SlideToActLabel(view, paint) { changes++ }
+
+    @Test
+    fun swappedInLayout_reusesThePrecomputedMeasurement() {
+        label.setWidth(WIDTH)
+        label.setText("Slide to unlock")
+
+        val precomputed = awaitPrecomputedText()
+
+        // StaticLayout keeps the measurement of a PrecomputedText only if the params match.
+        assertEquals(label.textMetricsParams(), precomputed.params)
+        assertEquals("Slide to unlock", precomputed.toString())
+    }
+
+    @Test
+    fun staleText_isDropped() {
+        label.setWidth(WIDTH)
+        label.setText("Slide to unlock")
+        label.setText("Slide to pay")
+
+        val precomputed = awaitPrecomputedText()
+        // Wait for the stale text too, it must not replace the latest one.
+        Thread.sleep(WAIT_STEP_MS)
+        shadowOf(Looper.getMainLooper()).idle()
+
+        assertEquals("Slide to pay", precomputed.toString())
+        assertEquals("Slide to pay", label.text.toString())
+    }
+
+    /** Idles the UI thread until the text measured in background is swapped in */
+    private fun awaitPrecomputedText(): PrecomputedText {
+        val initialChanges = changes
+        val deadline = System.currentTimeMillis() + TIMEOUT_MS
+        while (label.text !is PrecomputedText && System.currentTimeMillis() < deadline) {
+            Thread.sleep(WAIT_STEP_MS)
+            shadowOf(Looper.getMainLooper()).idle()
+        }
+        assertTrue(changes > initialChanges)
+        return label.text as PrecomputedText
+    }
+
+    private companion object {
+        const val WIDTH = 600
+        const val TIMEOUT_MS = 5_000L
+        const val WAIT_STEP_MS = 10L
+    }
+}